@@ -0,0 +1,80 @@
+package com.br.brlog.notification.codec;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.br.brlog.notification.dto.NotificationDTO;
+import com.br.brlog.notification.dto.NotificationDTO.NotificationType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * 알림 직렬화 비교 (기존 JSON vs 바이너리)
+ * 직렬화 크기는 준비 단계에서 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NotificationCodecBenchmark {
+
+    private JsonNotificationCodec json;
+    private BinaryNotificationCodec binary;
+
+    private NotificationDTO notification;
+    private byte[] jsonBytes;
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        json = new JsonNotificationCodec(objectMapper);
+        binary = new BinaryNotificationCodec();
+
+        notification = NotificationDTO.builder()
+                .id(1234567890123456789L)
+                .userId("author01")
+                .senderUserId("commenter02")
+                .senderUserNm("홍길동")
+                .senderProfileImgUrl("https://cdn.example.com/profile/commenter02.png")
+                .type(NotificationType.COMMENT)
+                .content("홍길동님이 회원님의 게시글에 댓글을 달았습니다: 좋은 글 잘 읽었습니다. 다음 글도 기대할게요...")
+                .postId(12345L)
+                .commentId(67890L)
+                .isRead(false)
+                .createdAt(LocalDateTime.of(2025, 3, 1, 12, 34, 56, 789_000_000))
+                .build();
+
+        jsonBytes = json.encode(notification);
+        binaryBytes = binary.encode(notification);
+        System.out.printf("%n직렬화 크기: json=%d bytes, binary=%d bytes%n", jsonBytes.length, binaryBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return json.encode(notification);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return binary.encode(notification);
+    }
+
+    @Benchmark
+    public NotificationDTO decodeJson() {
+        return json.decode(jsonBytes);
+    }
+
+    @Benchmark
+    public NotificationDTO decodeBinary() {
+        return binary.decode(binaryBytes);
+    }
+}
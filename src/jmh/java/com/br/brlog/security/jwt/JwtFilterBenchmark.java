@@ -0,0 +1,109 @@
+package com.br.brlog.security.jwt;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.br.brlog.redis.RedisService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+/**
+ * JwtFilter 요청당 오버헤드 (Redis 없이 near-cache 적중 상태)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtFilterBenchmark {
+
+    private JwtFilter filter;
+    private String token;
+
+    private MockHttpServletRequest staticRequest;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest streamRequest;
+    private MockHttpServletResponse response;
+
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setup() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        // Redis 대신 저장된 토큰과 토큰 버전 0을 돌려주는 상태
+        RedisService redisService = new RedisService(null, null) {
+            @Override
+            public Object getData(String key) {
+                return token;
+            }
+        };
+        TokenStateCache tokenStateCache = new TokenStateCache(redisService, null,
+                new RedisMessageListenerContainer(), meterRegistry) {
+            @Override
+            long loadVersion(String userId) {
+                return 0L;
+            }
+        };
+        ReflectionTestUtils.setField(tokenStateCache, "nearCacheTtlMs", 30_000L);
+        ReflectionTestUtils.setField(tokenStateCache, "nearCacheMaxSize", 10_000L);
+        tokenStateCache.init();
+
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(meterRegistry, tokenStateCache);
+        ReflectionTestUtils.setField(tokenProvider, "secretKey", Base64.getEncoder().encodeToString(new byte[64]));
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 3_600_000L);
+        ReflectionTestUtils.setField(tokenProvider, "claimsCacheMaxSize", 10_000L);
+        tokenProvider.init();
+        token = tokenProvider.createToken("bench01", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        filter = new JwtFilter(tokenProvider, tokenStateCache);
+
+        staticRequest = new MockHttpServletRequest("GET", "/files/profile/bench01.png");
+        anonymousRequest = new MockHttpServletRequest("GET", "/post/list");
+        authenticatedRequest = new MockHttpServletRequest("POST", "/post/1/like");
+        authenticatedRequest.addHeader("Authorization", "Bearer " + token);
+        streamRequest = new MockHttpServletRequest("GET", "/notifications/stream");
+        streamRequest.addParameter("token", token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void staticFile() throws Exception {
+        run(staticRequest);
+    }
+
+    @Benchmark
+    public void anonymous() throws Exception {
+        run(anonymousRequest);
+    }
+
+    @Benchmark
+    public void authenticated() throws Exception {
+        run(authenticatedRequest);
+    }
+
+    @Benchmark
+    public void streamQueryToken() throws Exception {
+        run(streamRequest);
+    }
+
+    private void run(MockHttpServletRequest request) throws Exception {
+        filter.doFilter(request, response, chain);
+        SecurityContextHolder.clearContext();
+    }
+}
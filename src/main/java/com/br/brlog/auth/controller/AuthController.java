@@ -13,7 +13,9 @@ import org.springframework.web.bind.annotation.RestController;
 import com.br.brlog.auth.dto.SignupRequestDTO;
 import com.br.brlog.auth.service.AuthService;
 import com.br.brlog.common.ResponseCode;
+import com.br.brlog.common.ratelimit.RateLimit;
 import com.br.brlog.common.dto.ResponseDTO;
+import com.br.brlog.security.password.PasswordHashingOverloadException;
 import com.br.brlog.user.dto.LoginRequestDTO;
 import com.br.brlog.user.dto.TokenResponseDTO;
 import com.br.brlog.user.dto.UserResponseDTO;
@@ -35,10 +37,19 @@ public class AuthController {
      */
     @SuppressWarnings("unchecked")
     @PostMapping("/login")
+    @RateLimit(name = "login-ip", key = "#ip", capacity = 20, refillTokens = 20, refillPeriodSeconds = 60)
+    @RateLimit(name = "login-user", key = "#loginRequest.userId + ':' + #ip", capacity = 5, refillTokens = 5,
+               refillPeriodSeconds = 300, failuresOnly = true)
+    // 여러 IP에 나눠 한 계정을 대입하는 경우 (IP와 무관한 계정 단위 실패 한도)
+    @RateLimit(name = "login-account", key = "#loginRequest.userId", capacity = 20, refillTokens = 20,
+               refillPeriodSeconds = 900, failuresOnly = true)
     public ResponseEntity<ResponseDTO<TokenResponseDTO>> login(@Valid @RequestBody LoginRequestDTO loginRequest) {
         try {
             TokenResponseDTO tokenResponse = authService.login(loginRequest);
             return ResponseEntity.ok(ResponseDTO.from(tokenResponse));
+        } catch (PasswordHashingOverloadException e) {
+            // 503은 PasswordHashingExceptionHandler에서 응답
+            throw e;
         } catch (Exception e) {
             log.error("로그인 실패", e);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -10,7 +10,9 @@ import com.br.brlog.auth.dto.VerifyCodeResponseDTO;
 import com.br.brlog.auth.service.EmailService;
 import com.br.brlog.auth.service.SignupService;
 import com.br.brlog.common.ResponseCode;
+import com.br.brlog.common.ratelimit.RateLimit;
 import com.br.brlog.common.dto.ResponseDTO;
+import com.br.brlog.security.password.PasswordHashingOverloadException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -51,6 +53,8 @@ public class SignupController {
      */
     @SuppressWarnings("unchecked")
     @PostMapping("/send-verification")
+    @RateLimit(name = "send-verification-ip", key = "#ip", capacity = 10, refillTokens = 10, refillPeriodSeconds = 600)
+    @RateLimit(name = "send-verification-email", key = "#request.email", capacity = 3, refillTokens = 3, refillPeriodSeconds = 600)
     public ResponseEntity<ResponseDTO<SendVerificationResponseDTO>> sendVerification(
             @RequestBody @Valid SendVerificationRequestDTO request) {
         log.debug("인증번호 발송 요청: {}", request);
@@ -80,6 +84,8 @@ public class SignupController {
      */
     @SuppressWarnings("unchecked")
     @PostMapping("/verify-code")
+    @RateLimit(name = "verify-code-ip", key = "#ip", capacity = 30, refillTokens = 30, refillPeriodSeconds = 60)
+    @RateLimit(name = "verify-code-email", key = "#request.email", capacity = 10, refillTokens = 10, refillPeriodSeconds = 600)
     public ResponseEntity<ResponseDTO<VerifyCodeResponseDTO>> verifyCode(
             @RequestBody @Valid VerifyCodeRequestDTO request) {
         log.debug("인증번호 확인 요청: {}", request);
@@ -123,6 +129,9 @@ public class SignupController {
             log.debug("회원가입 성공: {}", request.getUserId());
             
             return ResponseEntity.ok(ResponseDTO.of(null, ResponseCode.SUCCESS_CODE));
+        } catch (PasswordHashingOverloadException e) {
+            // 503은 PasswordHashingExceptionHandler에서 응답
+            throw e;
         } catch (Exception e) {
             log.error("회원가입 실패: {}", e.getMessage(), e);
             
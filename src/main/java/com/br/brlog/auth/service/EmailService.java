@@ -1,16 +1,12 @@
 package com.br.brlog.auth.service;
 
 import com.br.brlog.auth.dto.SendVerificationResponseDTO;
+import com.br.brlog.mail.MailOutbox;
 import com.br.brlog.redis.RedisService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -20,19 +16,16 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final MailOutbox mailOutbox;
     private final RedisService redisService;
     
-    @Value("${spring.mail.username}")
-    private String fromEmail;
-    
     private static final int VERIFICATION_CODE_LENGTH = 6;
     private static final int VERIFICATION_CODE_EXPIRATION_MINUTES = 5;
     
     /**
      * 인증번호 이메일 발송
      */
-    public SendVerificationResponseDTO sendVerificationEmail(String email, String name) throws MessagingException {
+    public SendVerificationResponseDTO sendVerificationEmail(String email, String name) {
         log.debug("인증번호 이메일 발송 시작: {}", email);
         
         // 인증번호 생성
@@ -63,10 +56,10 @@ public class EmailService {
         String subject = "[BR Blog] 회원가입 인증번호";
         String content = createVerificationEmailContent(name, verificationCode);
         
-        // 이메일 발송
-        sendEmail(email, subject, content);
+        // 이메일 발송 (대기열에 넣고 바로 반환, 발송은 MailOutboxWorker)
+        mailOutbox.enqueue(email, subject, content);
         
-        log.debug("인증번호 이메일 발송 완료: {}", email);
+        log.debug("인증번호 이메일 발송 요청 완료: {}", email);
         
         return new SendVerificationResponseDTO(verificationId, VERIFICATION_CODE_EXPIRATION_MINUTES);
     }
@@ -150,21 +143,6 @@ public class EmailService {
                 + "</div>";
     }
     
-    /**
-     * 이메일 발송
-     */
-    private void sendEmail(String to, String subject, String content) throws MessagingException {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-        
-        helper.setFrom(fromEmail);
-        helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(content, true); // true: HTML 형식 사용
-        
-        mailSender.send(message);
-    }
-    
     /**
      * Redis 인증번호 키 생성
      */
@@ -1,10 +1,10 @@
 package com.br.brlog.auth.service;
 
+import com.br.brlog.security.password.PasswordHasher;
 import com.br.brlog.user.dao.UserDAO;
 import com.br.brlog.user.dto.UserDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,7 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class SignupService {
 
     private final UserDAO userDAO;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final EmailService emailService;
 
     /**
@@ -46,8 +46,7 @@ public class SignupService {
         UserDTO userDTO = UserDTO.builder()
                 .userId(request.getUserId())
                 .userNm(request.getUserNm())
-                //.userPw(passwordEncoder.encode(request.getUserPw()))
-                .userPw(request.getUserPw())
+                .userPw(passwordHasher.encode(request.getUserPw()))
                 .userLevel(request.getUserLevel() != null ? request.getUserLevel() : "USER")
                 .enabledYn("Y")
                 .verifiedYn("Y")
@@ -8,10 +8,12 @@ public enum ResponseCode {
     AUTH_FAILURE(false, "A001", "인증 실패"),
     TOKEN_INVALID(false, "A002", "토큰이 유효하지 않습니다"),
     UNAUTHORIZED(false, "A003", "권한이 없습니다"),
+    AUTH_BUSY(false, "A004", "인증 요청이 많습니다. 잠시 후 다시 시도해주세요"),
     
     // 공통 에러
     ERROR_INVALID_PARAMETER(false, "E001", "잘못된 요청 파라미터"),
     ERROR_SERVER(false, "E999", "서버 오류"),
+    TOO_MANY_REQUESTS(false, "E429", "요청이 너무 많습니다. 잠시 후 다시 시도해주세요"),
     
     // 일반 오류 코드
     ERROR_CODE(false, "E000", "오류가 발생했습니다"),
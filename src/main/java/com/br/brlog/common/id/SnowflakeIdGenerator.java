@@ -0,0 +1,243 @@
+package com.br.brlog.common.id;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Snowflake 방식 64비트 ID 생성기
+ * [부호 1][시간 41 (2025-01-01 기준 ms)][노드 10][순번 12] - 노드 내에서 단조 증가, 노드 간 중복 없음.
+ * - (시간, 순번)을 AtomicLong 하나에 묶어 CAS로 갱신하므로 락/객체 생성이 없다.
+ * - 시계가 뒤로 가면 마지막 ms의 순번을 이어 쓰고, 순번(4096개)을 다 쓰면 시계가 다음 ms로 넘어갈 때까지 기다린다.
+ *   논리 시간이 시계보다 앞서 나가지 않으므로 재시작이나 노드 번호 재할당 후에도 이미 나간 ID와 겹치지 않는다.
+ * - 노드 번호는 Redis 임대(id:node:{n}, SET NX + TTL)로 받고 전용 스레드에서 주기적으로 연장한다.
+ *   임대를 못 받으면 기동하지 않고, 마지막 연장 후 (TTL - guard-ms)가 지나면 다시 연장될 때까지 ID를 만들지 않는다.
+ * 값이 JavaScript 정수 범위를 넘으므로 JSON으로 내보낼 때는 문자열로 직렬화한다.
+ */
+@Slf4j
+@Component
+public class SnowflakeIdGenerator {
+
+    // 2025-01-01T00:00:00Z
+    private static final long EPOCH = 1735689600000L;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODES = 1 << NODE_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final String LEASE_KEY_PREFIX = "id:node:";
+
+    /**
+     * 내가 가진 임대만 연장 (KEYS: lease / ARGV: owner, ttlMs)
+     */
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then\n"
+          + "  return redis.call('PEXPIRE', KEYS[1], ARGV[2])\n"
+          + "end\n"
+          + "return 0",
+            Long.class);
+
+    /**
+     * 내가 가진 임대만 반납 (KEYS: lease / ARGV: owner)
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then\n"
+          + "  return redis.call('DEL', KEYS[1])\n"
+          + "end\n"
+          + "return 0",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    // (EPOCH 기준 ms << SEQUENCE_BITS) | 순번
+    private final AtomicLong state = new AtomicLong();
+
+    // 임대 소유자 식별값
+    private final String owner = UUID.randomUUID().toString();
+
+    private volatile long nodeBits;
+    private volatile int nodeId = -1;
+    private volatile boolean leased;
+
+    // 이 시각(epoch ms)까지만 임대한 노드 번호로 ID 생성 (고정 노드 번호면 무제한)
+    private volatile long leaseValidUntil;
+
+    private ScheduledExecutorService leaseRenewer;
+
+    // 고정 노드 번호 (0 ~ 1023, 미지정 시 Redis 임대)
+    @Value("${id.node-id:-1}")
+    private int fixedNodeId;
+
+    @Value("${id.node-lease.ttl-ms:60000}")
+    private long leaseTtlMs;
+
+    @Value("${id.node-lease.renew-interval-ms:20000}")
+    private long renewIntervalMs;
+
+    // 임대 만료 전 ID 생성을 멈추는 여유 시간 (연장 지연, GC 정지, 노드 간 시계 차이 대비)
+    @Value("${id.node-lease.guard-ms:10000}")
+    private long leaseGuardMs;
+
+    public SnowflakeIdGenerator(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (fixedNodeId >= 0) {
+            if (fixedNodeId >= MAX_NODES) {
+                throw new IllegalStateException("id.node-id는 0 ~ " + (MAX_NODES - 1) + " 사이여야 합니다");
+            }
+            assignNode(fixedNodeId, false);
+            leaseValidUntil = Long.MAX_VALUE;
+            log.info("ID 생성기 노드 번호 고정: {}", fixedNodeId);
+            return;
+        }
+        if (leaseGuardMs >= leaseTtlMs || renewIntervalMs >= leaseTtlMs - leaseGuardMs) {
+            throw new IllegalStateException("id.node-lease.renew-interval-ms는 ttl-ms - guard-ms보다 작아야 합니다");
+        }
+        // 임대 없이 임의 번호를 쓰면 다른 노드와 ID가 겹칠 수 있으므로 기동하지 않음
+        if (!acquireLease()) {
+            throw new IllegalStateException("ID 생성기 노드 번호를 임대하지 못했습니다");
+        }
+        // 다른 @Scheduled 작업에 밀려 연장이 늦어지지 않도록 전용 스레드 사용
+        leaseRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "id-node-lease");
+            thread.setDaemon(true);
+            return thread;
+        });
+        leaseRenewer.scheduleWithFixedDelay(this::renewLease, renewIntervalMs, renewIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 다음 ID
+     */
+    public long nextId() {
+        if (System.currentTimeMillis() >= leaseValidUntil) {
+            throw new IllegalStateException("ID 생성기 노드 임대가 만료되어 ID를 만들 수 없습니다");
+        }
+        while (true) {
+            long current = state.get();
+            long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+            long next;
+            if (now > current) {
+                next = now;
+            } else if ((current & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                // 같은 ms이거나 시계가 뒤로 갔으면 순번 증가
+                next = current + 1;
+            } else {
+                // 순번을 다 썼으면 시계가 다음 ms로 넘어갈 때까지 대기
+                Thread.onSpinWait();
+                continue;
+            }
+            if (state.compareAndSet(current, next)) {
+                return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * 현재 노드 번호
+     */
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * ID에 담긴 생성 시각 (epoch ms)
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    /**
+     * 노드 임대 연장 (잃었으면 새로 받음)
+     */
+    void renewLease() {
+        try {
+            if (leased) {
+                // 요청 전 시각 기준으로 유효 기간 계산 (응답이 늦어도 실제 만료보다 늦지 않게)
+                long requestedAt = System.currentTimeMillis();
+                Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT, List.of(leaseKey(nodeId)),
+                        owner, String.valueOf(leaseTtlMs));
+                if (renewed != null && renewed == 1L) {
+                    leaseValidUntil = requestedAt + leaseTtlMs - leaseGuardMs;
+                    return;
+                }
+                log.warn("ID 생성기 노드 임대 만료: {} - 다시 받음", nodeId);
+                leased = false;
+                leaseValidUntil = 0;
+            }
+            acquireLease();
+        } catch (Exception e) {
+            log.warn("ID 생성기 노드 임대 연장 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        if (leaseRenewer != null) {
+            leaseRenewer.shutdownNow();
+        }
+        if (!leased) {
+            return;
+        }
+        leaseValidUntil = 0;
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey(nodeId)), owner);
+        } catch (Exception e) {
+            log.debug("ID 생성기 노드 임대 반납 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 비어 있는 노드 번호 임대 (임의 위치부터 차례로 SET NX)
+     */
+    private boolean acquireLease() {
+        int start = ThreadLocalRandom.current().nextInt(MAX_NODES);
+        try {
+            for (int i = 0; i < MAX_NODES; i++) {
+                int candidate = (start + i) % MAX_NODES;
+                long requestedAt = System.currentTimeMillis();
+                Boolean acquired = stringRedisTemplate.opsForValue()
+                        .setIfAbsent(leaseKey(candidate), owner, Duration.ofMillis(leaseTtlMs));
+                if (Boolean.TRUE.equals(acquired)) {
+                    assignNode(candidate, true);
+                    leaseValidUntil = requestedAt + leaseTtlMs - leaseGuardMs;
+                    log.info("ID 생성기 노드 번호 임대: {}", candidate);
+                    return true;
+                }
+            }
+            log.error("ID 생성기 노드 번호가 모두 사용 중입니다 ({}개)", MAX_NODES);
+        } catch (Exception e) {
+            log.warn("ID 생성기 노드 임대 실패: {}", e.getMessage());
+        }
+        return false;
+    }
+
+    private void assignNode(int node, boolean fromLease) {
+        this.nodeBits = (long) node << SEQUENCE_BITS;
+        this.nodeId = node;
+        this.leased = fromLease;
+    }
+
+    private static String leaseKey(int node) {
+        return LEASE_KEY_PREFIX + node;
+    }
+}
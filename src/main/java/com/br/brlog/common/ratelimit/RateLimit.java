@@ -0,0 +1,39 @@
+package com.br.brlog.common.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 메서드 요청 제한 (Redis 토큰 버킷)
+ * key는 SpEL이며 메서드 파라미터와 #ip(클라이언트 IP), #user(로그인 사용자 ID)를 쓸 수 있다.
+ * key가 null/빈 값이면 해당 제한은 건너뛴다. 여러 개 지정하면 모두 통과해야 한다.
+ * failuresOnly면 요청 전에 토큰을 예약하고 성공한 요청(예외가 없고 4xx가 아닌 응답)이면 돌려주므로,
+ * 실패한 요청만 토큰을 쓴다. 동시에 몰린 요청도 남은 토큰 수까지만 통과한다.
+ * 예) @RateLimit(name = "login-ip", key = "#ip", capacity = 20, refillTokens = 20, refillPeriodSeconds = 60)
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(RateLimits.class)
+public @interface RateLimit {
+
+    // 버킷 이름 (Redis 키: ratelimit:{name}:{key})
+    String name();
+
+    String key();
+
+    // 최대 토큰 수 (순간 허용량)
+    int capacity();
+
+    // refillPeriodSeconds마다 채워지는 토큰 수
+    int refillTokens();
+
+    int refillPeriodSeconds();
+
+    // 실패한 요청만 차감 (성공한 요청은 예약한 토큰을 돌려받음)
+    boolean failuresOnly() default false;
+}
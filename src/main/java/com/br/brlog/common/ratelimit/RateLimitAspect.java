@@ -0,0 +1,132 @@
+package com.br.brlog.common.ratelimit;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * @RateLimit 처리 - 컨트롤러 본문(서비스 호출) 전에 모든 제한의 토큰을 차감
+ * failuresOnly 제한도 본문 전에 토큰을 예약하고, 성공한 요청이면 본문 후에 돌려준다
+ * (확인 후 차감하면 동시에 몰린 실패 요청이 버킷 크기보다 많이 통과한다).
+ * 클라이언트 IP는 ratelimit.trusted-proxies에 있는 프록시를 거친 요청만 X-Forwarded-For에서 읽는다.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RateLimitAspect {
+
+    private static final SpelExpressionParser PARSER = new SpelExpressionParser();
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    private final RateLimiter rateLimiter;
+
+    // SpEL 식 캐시
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    // X-Forwarded-For를 믿을 프록시 IP (비어 있으면 접속 IP만 사용)
+    @Value("${ratelimit.trusted-proxies:}")
+    private Set<String> trustedProxies;
+
+    @Around("@annotation(com.br.brlog.common.ratelimit.RateLimit) || @annotation(com.br.brlog.common.ratelimit.RateLimits)")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodBasedEvaluationContext context =
+                new MethodBasedEvaluationContext(null, method, joinPoint.getArgs(), PARAMETER_NAMES);
+        context.setVariable("ip", clientIp());
+        context.setVariable("user", currentUserId());
+
+        // 성공 시 돌려줄 예약 토큰
+        List<RateLimit> reservedLimits = new ArrayList<>();
+        List<String> reservedKeys = new ArrayList<>();
+        for (RateLimit limit : AnnotatedElementUtils.findMergedRepeatableAnnotations(method, RateLimit.class)) {
+            Object key = expressions.computeIfAbsent(limit.key(), PARSER::parseExpression).getValue(context);
+            if (key == null || key.toString().isBlank()) {
+                continue;
+            }
+            // 이메일 등은 대소문자 구분 없이 같은 버킷
+            String bucket = key.toString().trim().toLowerCase();
+            try {
+                rateLimiter.acquire(limit, bucket);
+            } catch (RateLimitExceededException e) {
+                // 앞서 통과한 failuresOnly 제한의 예약은 요청이 실패한 것이 아니므로 돌려준다
+                refund(reservedLimits, reservedKeys);
+                throw e;
+            }
+            if (limit.failuresOnly()) {
+                reservedLimits.add(limit);
+                reservedKeys.add(bucket);
+            }
+        }
+
+        if (reservedLimits.isEmpty()) {
+            return joinPoint.proceed();
+        }
+
+        // 예외나 4xx 응답이면 예약한 토큰을 그대로 쓴다
+        Object result = joinPoint.proceed();
+        if (!(result instanceof ResponseEntity && ((ResponseEntity<?>) result).getStatusCode().is4xxClientError())) {
+            refund(reservedLimits, reservedKeys);
+        }
+        return result;
+    }
+
+    private void refund(List<RateLimit> limits, List<String> keys) {
+        for (int i = 0; i < limits.size(); i++) {
+            rateLimiter.refund(limits.get(i), keys.get(i));
+        }
+    }
+
+    private String clientIp() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
+        String remoteAddr = request.getRemoteAddr();
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded == null || !trustedProxies.contains(remoteAddr)) {
+            return remoteAddr;
+        }
+        // 뒤에서부터 신뢰하는 프록시가 아닌 첫 주소가 실제 클라이언트 (앞쪽 값은 클라이언트가 위조 가능)
+        String[] hops = forwarded.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !trustedProxies.contains(hop)) {
+                return hop;
+            }
+        }
+        return remoteAddr;
+    }
+
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
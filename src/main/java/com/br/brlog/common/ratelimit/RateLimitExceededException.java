@@ -0,0 +1,19 @@
+package com.br.brlog.common.ratelimit;
+
+import lombok.Getter;
+
+/**
+ * 요청 제한 초과 (429, Retry-After)
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final String name;
+    private final long retryAfterMs;
+
+    public RateLimitExceededException(String name, long retryAfterMs) {
+        super("요청 제한 초과: " + name);
+        this.name = name;
+        this.retryAfterMs = retryAfterMs;
+    }
+}
@@ -0,0 +1,30 @@
+package com.br.brlog.common.ratelimit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.br.brlog.common.ResponseCode;
+import com.br.brlog.common.dto.ResponseDTO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청 제한 초과 -> 429 + Retry-After(초)
+ */
+@Slf4j
+@RestControllerAdvice
+public class RateLimitExceptionHandler {
+
+    @SuppressWarnings("unchecked")
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ResponseDTO<Void>> handleRateLimitExceeded(RateLimitExceededException e) {
+        long retryAfterSeconds = Math.max(1L, (e.getRetryAfterMs() + 999L) / 1000L);
+        log.debug("요청 제한 초과: {}, {}초 후 재시도", e.getName(), retryAfterSeconds);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(ResponseDTO.of(null, ResponseCode.TOO_MANY_REQUESTS));
+    }
+}
@@ -0,0 +1,148 @@
+package com.br.brlog.common.ratelimit;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis 토큰 버킷 요청 제한
+ * - 버킷은 Redis 해시(tokens, ts) 하나이며 Lua 스크립트로 충전/차감을 원자적으로 처리한다 (시각은 Redis TIME).
+ * - 거절된 키는 재시도 가능 시각까지 로컬에 기억해, 몰리는 키는 Redis까지 가지 않고 바로 거절한다.
+ * - Redis 장애 시에는 요청을 허용한다 (로그인/인증 자체를 막지 않도록).
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // 공통: KEYS[1] 버킷, ARGV[1] 최대 토큰, ARGV[2] 충전 토큰 수, ARGV[3] 충전 주기(ms) - 현재 시각까지 충전한 tokens
+    private static final String REFILL =
+            "local capacity = tonumber(ARGV[1]) " +
+            "local rate = tonumber(ARGV[2]) / tonumber(ARGV[3]) " +
+            "local time = redis.call('TIME') " +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+            "local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts') " +
+            "local tokens = tonumber(bucket[1]) " +
+            "local ts = tonumber(bucket[2]) " +
+            "if tokens == nil or ts == nil then tokens = capacity ts = now end " +
+            "tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate) ";
+    private static final String SAVE =
+            "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now) " +
+            "redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate)) ";
+
+    // 토큰 1개 차감 - 반환: 0이면 허용, 아니면 다음 토큰까지 남은 ms
+    private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>(
+            REFILL +
+            "local retry = 0 " +
+            "if tokens >= 1 then tokens = tokens - 1 else retry = math.ceil((1 - tokens) / rate) end " +
+            SAVE +
+            "return retry",
+            Long.class);
+
+    // 예약했던 토큰 1개 반환 (최대 토큰을 넘지 않음)
+    private static final RedisScript<Long> REFUND_SCRIPT = new DefaultRedisScript<>(
+            REFILL +
+            "tokens = math.min(capacity, tokens + 1) " +
+            SAVE +
+            "return 0",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // 버킷 키 -> 재시도 가능 시각(ms)
+    private Cache<String, Long> blockedUntil;
+
+    @Value("${ratelimit.local-cache.max-size:10000}")
+    private long localCacheMaxSize;
+
+    public RateLimiter(StringRedisTemplate stringRedisTemplate, MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        this.blockedUntil = Caffeine.newBuilder()
+                .maximumSize(localCacheMaxSize)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+    }
+
+    /**
+     * 토큰 1개 사용 시도 (초과 시 RateLimitExceededException)
+     */
+    public void acquire(RateLimit limit, String key) {
+        String bucketKey = bucketKey(limit, key);
+
+        // 1. 로컬 사전 확인 (최근 거절된 키)
+        long now = System.currentTimeMillis();
+        Long until = blockedUntil.getIfPresent(bucketKey);
+        if (until != null && until > now) {
+            count(limit.name(), "local_rejected");
+            throw new RateLimitExceededException(limit.name(), until - now);
+        }
+
+        // 2. Redis 토큰 버킷
+        Long retryAfterMs;
+        try {
+            retryAfterMs = execute(TOKEN_BUCKET_SCRIPT, limit, bucketKey);
+        } catch (Exception e) {
+            log.warn("요청 제한 확인 실패 - 허용: {} ({})", limit.name(), e.getMessage());
+            count(limit.name(), "error");
+            return;
+        }
+
+        if (retryAfterMs != null && retryAfterMs > 0) {
+            blockedUntil.put(bucketKey, now + retryAfterMs);
+            count(limit.name(), "rejected");
+            throw new RateLimitExceededException(limit.name(), retryAfterMs);
+        }
+        count(limit.name(), "allowed");
+    }
+
+    /**
+     * acquire로 예약한 토큰 1개 반환 (failuresOnly 제한에서 성공한 요청)
+     */
+    public void refund(RateLimit limit, String key) {
+        String bucketKey = bucketKey(limit, key);
+        try {
+            execute(REFUND_SCRIPT, limit, bucketKey);
+            // 토큰이 돌아왔으므로 로컬 거절 기록도 지운다
+            blockedUntil.invalidate(bucketKey);
+            count(limit.name(), "refunded");
+        } catch (Exception e) {
+            log.warn("요청 제한 토큰 반환 실패: {} ({})", limit.name(), e.getMessage());
+            count(limit.name(), "error");
+        }
+    }
+
+    private Long execute(RedisScript<Long> script, RateLimit limit, String bucketKey) {
+        return stringRedisTemplate.execute(script,
+                Collections.singletonList(bucketKey),
+                String.valueOf(limit.capacity()),
+                String.valueOf(limit.refillTokens()),
+                String.valueOf(limit.refillPeriodSeconds() * 1000L));
+    }
+
+    private static String bucketKey(RateLimit limit, String key) {
+        return KEY_PREFIX + limit.name() + ":" + key;
+    }
+
+    private void count(String name, String result) {
+        meterRegistry.counter("ratelimit.requests", "name", name, "result", result).increment();
+    }
+}
@@ -1,21 +1,31 @@
 package com.br.brlog.config;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
+import com.br.brlog.notification.codec.NotificationCodecs;
+import com.br.brlog.notification.codec.NotificationKafkaSerde;
 import com.br.brlog.notification.dto.NotificationDTO;
 
+import reactor.kafka.receiver.ReceiverOptions;
 import reactor.kafka.sender.KafkaSender;
 import reactor.kafka.sender.SenderOptions;
 
 @Configuration
+@EnableConfigurationProperties(NotificationProducerProperties.class)
 public class KafkaConfig {
 
     @Value("${spring.kafka.bootstrap-servers}")
@@ -24,18 +34,82 @@ public class KafkaConfig {
     @Value("${notification.topic}")
     private String notificationTopic;
     
+    // 노드별 컨슈머 그룹 접두사 (그룹 ID = 접두사 + "-" + 노드 ID)
+    @Value("${notification.consumer.group-prefix:brlog-notification}")
+    private String consumerGroupPrefix;
+    
+    // 노드 ID (비어 있으면 호스트명)
+    @Value("${notification.consumer.node-id:}")
+    private String nodeId;
+    
+    // poll 1회당 최대 레코드 수 (prefetch 상한)
+    @Value("${notification.consumer.max-poll-records:200}")
+    private int maxPollRecords;
+    
+    // 오프셋 일괄 커밋 기준 (건수 / 주기)
+    @Value("${notification.consumer.commit-batch-size:100}")
+    private int commitBatchSize;
+    
+    @Value("${notification.consumer.commit-interval-ms:1000}")
+    private long commitIntervalMs;
+    
+    /**
+     * 알림 프로듀서 설정
+     * 배치/압축/멱등성은 notification.producer.* 로 조정하며, 레코드 단위 실패가 전송 파이프라인을 멈추지 않게 한다.
+     */
     @Bean
-    public KafkaSender<String, NotificationDTO> kafkaSender() {
+    public KafkaSender<String, NotificationDTO> kafkaSender(NotificationProducerProperties producer,
+                                                           NotificationCodecs notificationCodec) {
         Map<String, Object> props = new HashMap<>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ACKS_CONFIG, producer.getAcks());
+        props.put(ProducerConfig.LINGER_MS_CONFIG, producer.getLingerMs());
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, producer.getBatchSize());
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, producer.getCompressionType());
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, producer.isIdempotence());
         
-        SenderOptions<String, NotificationDTO> senderOptions = SenderOptions.create(props);
+        // 값은 notification.codec.format 형식으로 직렬화 (JSON 레코드도 읽을 수 있음)
+        SenderOptions<String, NotificationDTO> senderOptions = SenderOptions.<String, NotificationDTO>create(props)
+                .withKeySerializer(new StringSerializer())
+                .withValueSerializer(new NotificationKafkaSerde(notificationCodec))
+                .maxInFlight(producer.getMaxInFlight())
+                .stopOnError(false);
         return KafkaSender.create(senderOptions);
     }
     
+    /**
+     * 알림 토픽 컨슈머 설정
+     * 노드마다 별도 컨슈머 그룹을 써서 모든 노드가 전체 알림을 받고, 각 노드는 자기에게 연결된 사용자에게만 전달한다.
+     */
+    @Bean
+    public ReceiverOptions<String, NotificationDTO> notificationReceiverOptions(NotificationCodecs notificationCodec) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, consumerGroupPrefix + "-" + resolveNodeId());
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        // 실시간 전달용이므로 처음 붙는 노드는 최신 위치부터 읽는다
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        
+        return ReceiverOptions.<String, NotificationDTO>create(props)
+                .withKeyDeserializer(new StringDeserializer())
+                .withValueDeserializer(new NotificationKafkaSerde(notificationCodec))
+                .commitBatchSize(commitBatchSize)
+                .commitInterval(Duration.ofMillis(commitIntervalMs))
+                .subscription(List.of(notificationTopic));
+    }
+    
+    private String resolveNodeId() {
+        if (nodeId != null && !nodeId.isEmpty()) {
+            return nodeId;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "node-" + ProcessHandle.current().pid();
+        }
+    }
+    
     @Bean
     public String notificationTopic() {
         return notificationTopic;
@@ -0,0 +1,39 @@
+package com.br.brlog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 알림 Kafka 프로듀서 설정 (notification.producer.*)
+ * 몰려드는 알림이 프로듀서 배치를 함께 쓰도록 linger/배치 크기/압축을 조정한다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "notification.producer")
+public class NotificationProducerProperties {
+
+    // 배치를 채우기 위해 기다리는 시간 (ms)
+    private int lingerMs = 10;
+
+    // 파티션별 배치 크기 (bytes)
+    private int batchSize = 64 * 1024;
+
+    // 압축 방식 (none, gzip, snappy, lz4, zstd)
+    private String compressionType = "lz4";
+
+    // 멱등 프로듀서 (재시도 시 중복/순서 뒤바뀜 방지)
+    private boolean idempotence = true;
+
+    private String acks = "all";
+
+    // 전송 완료를 기다리는 최대 레코드 수 (초과 시 전송 파이프라인이 요청을 멈춤)
+    private int maxInFlight = 1024;
+
+    // 전송 파이프라인 앞 대기열 크기 (가득 차면 전송 요청 실패)
+    private int queueSize = 10000;
+
+    // 종료 시 대기열에 남은 알림을 보내며 기다리는 최대 시간 (ms)
+    private long shutdownTimeoutMs = 10000;
+}
@@ -15,6 +15,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import com.br.brlog.common.id.SnowflakeIdGenerator;
 import com.br.brlog.lab.dto.PaymentConfirmDTO;
 import com.br.brlog.lab.dto.PaymentDTO;
 import com.br.brlog.lab.dto.PaymentRequestDTO;
@@ -31,6 +32,7 @@ public class PaymentService {
 
     private final UserDAO userDAO;
     private final RestTemplate restTemplate;
+    private final SnowflakeIdGenerator idGenerator;
     
     // 임시 저장소 (실제 구현에서는 DB 사용)
     private final Map<String, PaymentDTO> paymentStore = new ConcurrentHashMap<>();
@@ -64,6 +66,11 @@ public class PaymentService {
             String itemDescription = (String) paymentItem.get("description");
             Long amount = ((Number) paymentItem.get("amount")).longValue();
             
+            // 주문 ID가 없으면 발급 (토스페이먼츠 주문 ID 규칙: 영문/숫자/-/_ 6~64자)
+            if (requestDTO.getOrderId() == null || requestDTO.getOrderId().isBlank()) {
+                requestDTO.setOrderId("ORDER_" + idGenerator.nextId());
+            }
+            
             // 현재 시간 포맷
             String requestedAt = LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME);
             
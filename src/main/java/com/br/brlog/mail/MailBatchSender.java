@@ -0,0 +1,127 @@
+package com.br.brlog.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import com.br.brlog.mail.dto.MailMessageDTO;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SMTP 연결을 유지하며 메일을 묶어서 보내는 발송기 (워커 스레드 하나당 하나, 스레드 안전하지 않음)
+ * 연결은 끊겼을 때만 다시 맺고, 대기열이 비면 워커가 close()로 닫는다.
+ */
+@Slf4j
+public class MailBatchSender implements AutoCloseable {
+
+    // dead 리스트에 남기는 실패 사유 최대 길이
+    private static final int MAX_REASON_LENGTH = 200;
+
+    private final JavaMailSenderImpl mailSender;
+
+    private Transport transport;
+
+    public MailBatchSender(JavaMailSenderImpl mailSender) {
+        this.mailSender = mailSender;
+    }
+
+    /**
+     * 배치 발송 후 실패한 메일 반환
+     */
+    public List<Failure> send(List<MailMessageDTO> messages, String from) {
+        List<Failure> failed = new ArrayList<>();
+        for (MailMessageDTO message : messages) {
+            try {
+                MimeMessage mimeMessage = toMimeMessage(message, from);
+                connectedTransport().sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+            } catch (SendFailedException e) {
+                // 수신자 거부 - 연결은 그대로 사용
+                log.warn("메일 발송 실패 (수신자): {} - {}", message.getTo(), e.getMessage());
+                failed.add(new Failure(message, true, reason(e)));
+            } catch (MessagingException e) {
+                // 연결 문제일 수 있으므로 다음 메일은 새 연결로
+                log.warn("메일 발송 실패: {} - {}", message.getTo(), e.getMessage());
+                close();
+                failed.add(new Failure(message, isRecipientRejected(e), reason(e)));
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * 원인 중에 수신자 거부(SendFailedException)가 있는지 (다시 보내도 같은 결과)
+     */
+    static boolean isRecipientRejected(Throwable error) {
+        // 원인이 순환하는 경우를 막기 위해 깊이 제한
+        for (int depth = 0; error != null && depth < 10; depth++) {
+            if (error instanceof SendFailedException) {
+                return true;
+            }
+            error = error.getCause();
+        }
+        return false;
+    }
+
+    private static String reason(Exception e) {
+        String reason = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason;
+    }
+
+    private MimeMessage toMimeMessage(MailMessageDTO message, String from) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+        helper.setFrom(from);
+        helper.setTo(message.getTo());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getContent(), true);
+        mimeMessage.saveChanges();
+        return mimeMessage;
+    }
+
+    private Transport connectedTransport() throws MessagingException {
+        if (transport != null && transport.isConnected()) {
+            return transport;
+        }
+        close();
+        String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp";
+        Transport newTransport = mailSender.getSession().getTransport(protocol);
+        newTransport.connect(mailSender.getHost(), mailSender.getPort(),
+                mailSender.getUsername(), mailSender.getPassword());
+        transport = newTransport;
+        return transport;
+    }
+
+    @Override
+    public void close() {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("SMTP 연결 종료 실패: {}", e.getMessage());
+        }
+        transport = null;
+    }
+
+    /**
+     * 발송 실패한 메일과 사유
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Failure {
+        private final MailMessageDTO message;
+        // 재시도해도 같은 결과인 실패 (수신자 거부)
+        private final boolean permanent;
+        private final String reason;
+    }
+}
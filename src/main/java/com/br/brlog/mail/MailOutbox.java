@@ -0,0 +1,127 @@
+package com.br.brlog.mail;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.br.brlog.mail.dto.MailMessageDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 메일 발송 대기열 (Redis 스트림)
+ * 요청 스레드는 대기열에 넣고 바로 반환하며, 발송은 MailOutboxWorker가 한다.
+ * - mail:outbox        발송 대기 (스트림, 필드 payload = JSON)
+ * - mail:outbox:retry  재시도 대기 (ZSET, 점수 = 재시도 시각 ms)
+ * - mail:outbox:dead   발송을 포기한 메일의 ID와 사유 (리스트, 본문은 남기지 않음)
+ */
+@Slf4j
+@Component
+public class MailOutbox {
+
+    public static final String STREAM_KEY = "mail:outbox";
+    public static final String RETRY_KEY = "mail:outbox:retry";
+    public static final String DEAD_KEY = "mail:outbox:dead";
+    public static final String PAYLOAD_FIELD = "payload";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final Counter enqueued;
+
+    public MailOutbox(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.enqueued = Counter.builder("mail.outbox.enqueued")
+                .description("발송 대기열에 넣은 메일 수")
+                .register(meterRegistry);
+        Gauge.builder("mail.outbox.depth", this, outbox -> outbox.size(STREAM_KEY))
+                .tag("queue", "pending")
+                .description("발송 대기 중인 메일 수")
+                .register(meterRegistry);
+        Gauge.builder("mail.outbox.depth", this, outbox -> outbox.size(RETRY_KEY))
+                .tag("queue", "retry")
+                .description("재시도 대기 중인 메일 수")
+                .register(meterRegistry);
+        Gauge.builder("mail.outbox.depth", this, outbox -> outbox.size(DEAD_KEY))
+                .tag("queue", "dead")
+                .description("발송을 포기한 메일 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 메일 발송 요청 (대기열에 넣고 바로 반환)
+     */
+    public void enqueue(String to, String subject, String content) {
+        MailMessageDTO message = MailMessageDTO.builder()
+                .id(UUID.randomUUID().toString())
+                .to(to)
+                .subject(subject)
+                .content(content)
+                .attempt(0)
+                .build();
+        stringRedisTemplate.opsForStream().add(StreamRecords.newRecord()
+                .in(STREAM_KEY)
+                .ofMap(Collections.singletonMap(PAYLOAD_FIELD, toJson(message))));
+        enqueued.increment();
+        log.debug("메일 발송 대기열 등록: {}, {}", to, message.getId());
+    }
+
+    String toJson(MailMessageDTO message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("메일 직렬화 실패", e);
+        }
+    }
+
+    MailMessageDTO fromJson(String payload) {
+        try {
+            return objectMapper.readValue(payload, MailMessageDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("메일 역직렬화 실패", e);
+        }
+    }
+
+    /**
+     * dead 리스트 항목 (인증번호 등이 담긴 본문과 수신자는 남기지 않음)
+     */
+    String toDeadJson(String id, int attempt, String reason) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("id", id);
+        entry.put("attempt", attempt);
+        entry.put("reason", reason);
+        entry.put("failedAt", System.currentTimeMillis());
+        try {
+            return objectMapper.writeValueAsString(entry);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("dead 항목 직렬화 실패", e);
+        }
+    }
+
+    private double size(String key) {
+        try {
+            Long size;
+            if (STREAM_KEY.equals(key)) {
+                size = stringRedisTemplate.opsForStream().size(key);
+            } else if (RETRY_KEY.equals(key)) {
+                size = stringRedisTemplate.opsForZSet().zCard(key);
+            } else {
+                size = stringRedisTemplate.opsForList().size(key);
+            }
+            return size != null ? size : 0;
+        } catch (Exception e) {
+            return Double.NaN;
+        }
+    }
+}
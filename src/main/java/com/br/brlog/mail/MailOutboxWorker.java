@@ -0,0 +1,312 @@
+package com.br.brlog.mail;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.br.brlog.mail.dto.MailMessageDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 메일 발송 워커
+ * - 스레드마다 소비자 그룹(mail-workers)에서 batch-size만큼 읽어 SMTP 연결 하나로 묶어 보낸다.
+ * - 실패한 메일은 지수 백오프로 재시도 큐에 넣고, max-attempts를 넘기거나 수신자가 거부하면 dead 리스트로 옮긴다.
+ *   dead 리스트에는 메일 ID와 사유만 남기며 dead-max-size건, 마지막 추가 후 dead-ttl-ms까지만 보관한다.
+ * - 시작할 때와 처리 중 오류가 난 뒤에는 자기 소비자의 미확인(pending) 메일부터 다시 읽는다.
+ * - claim-idle-ms 넘게 확인되지 않은 메일은 그룹 전체에서 가져와 다시 보낸다
+ *   (죽은 노드나 이름이 바뀐 소비자에게 남은 메일 포함, 최소 1회 발송).
+ */
+@Slf4j
+@Component
+public class MailOutboxWorker {
+
+    private static final String GROUP = "mail-workers";
+
+    // 소비자 그룹 생성 (이미 있으면 무시)
+    private static final RedisScript<Long> CREATE_GROUP_SCRIPT = new DefaultRedisScript<>(
+            "local ok = pcall(redis.call, 'XGROUP', 'CREATE', KEYS[1], ARGV[1], '0', 'MKSTREAM') " +
+            "if ok then return 1 end return 0",
+            Long.class);
+
+    // 재시도 시각이 된 메일을 스트림으로 되돌림 (KEYS[1] 재시도 ZSET, KEYS[2] 스트림, ARGV[1] 현재 ms, ARGV[2] 최대 건수)
+    private static final RedisScript<Long> RELEASE_RETRY_SCRIPT = new DefaultRedisScript<>(
+            "local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2])) " +
+            "for _, payload in ipairs(due) do " +
+            "  redis.call('ZREM', KEYS[1], payload) " +
+            "  redis.call('XADD', KEYS[2], '*', 'payload', payload) " +
+            "end " +
+            "return #due",
+            Long.class);
+
+    // 오래 확인되지 않은 메일을 이 소비자로 가져옴 (KEYS[1] 스트림, ARGV[1] 그룹, ARGV[2] 소비자, ARGV[3] 최소 idle ms, ARGV[4] 최대 건수)
+    private static final RedisScript<Long> CLAIM_IDLE_SCRIPT = new DefaultRedisScript<>(
+            "local claimed = redis.call('XAUTOCLAIM', KEYS[1], ARGV[1], ARGV[2], ARGV[3], '0-0', " +
+            "  'COUNT', tonumber(ARGV[4]), 'JUSTID') " +
+            "return #claimed[2]",
+            Long.class);
+
+    // dead 리스트에 추가하고 크기/보관 기간 제한 (KEYS[1] dead 리스트, ARGV[1] 항목, ARGV[2] 최대 건수, ARGV[3] 보관 ms)
+    private static final RedisScript<Long> DEAD_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('LPUSH', KEYS[1], ARGV[1]) " +
+            "redis.call('LTRIM', KEYS[1], 0, tonumber(ARGV[2]) - 1) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[3]) " +
+            "return 1",
+            Long.class);
+
+    private final MailOutbox mailOutbox;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JavaMailSenderImpl mailSender;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter dead;
+    private final Timer batchTimer;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${mail.outbox.workers:2}")
+    private int workerCount;
+
+    @Value("${mail.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${mail.outbox.block-ms:2000}")
+    private long blockMs;
+
+    @Value("${mail.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.backoff-initial-ms:5000}")
+    private long backoffInitialMs;
+
+    @Value("${mail.outbox.backoff-max-ms:600000}")
+    private long backoffMaxMs;
+
+    @Value("${mail.outbox.dead-max-size:1000}")
+    private long deadMaxSize;
+
+    @Value("${mail.outbox.dead-ttl-ms:604800000}")
+    private long deadTtlMs;
+
+    // 소비자 이름 접두사 (비우면 호스트 이름) - 바뀌어도 남은 pending 메일은 claim으로 다시 보냄
+    @Value("${mail.outbox.consumer:}")
+    private String consumerPrefix;
+
+    // 이 시간 넘게 확인되지 않은 메일은 처리하던 소비자가 죽은 것으로 보고 가져옴 (배치 발송 시간보다 길어야 함)
+    @Value("${mail.outbox.claim-idle-ms:300000}")
+    private long claimIdleMs;
+
+    @Value("${mail.outbox.claim-interval-ms:60000}")
+    private long claimIntervalMs;
+
+    public MailOutboxWorker(MailOutbox mailOutbox, StringRedisTemplate stringRedisTemplate,
+                            JavaMailSenderImpl mailSender, MeterRegistry meterRegistry) {
+        this.mailOutbox = mailOutbox;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.mailSender = mailSender;
+        this.sent = Counter.builder("mail.outbox.messages").tag("result", "sent")
+                .description("발송 완료된 메일 수").register(meterRegistry);
+        this.retried = Counter.builder("mail.outbox.messages").tag("result", "retry")
+                .description("재시도 예약된 메일 수").register(meterRegistry);
+        this.dead = Counter.builder("mail.outbox.messages").tag("result", "dead")
+                .description("발송을 포기한 메일 수").register(meterRegistry);
+        this.batchTimer = Timer.builder("mail.outbox.batch")
+                .description("메일 배치 발송 시간")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        stringRedisTemplate.execute(CREATE_GROUP_SCRIPT, List.of(MailOutbox.STREAM_KEY), GROUP);
+        running = true;
+        String prefix = consumerPrefix.isBlank() ? hostName() : consumerPrefix;
+        for (int i = 0; i < workerCount; i++) {
+            Consumer consumer = Consumer.from(GROUP, prefix + "-" + i);
+            Thread thread = new Thread(() -> run(consumer), "mail-outbox-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            workers.add(thread);
+        }
+        log.info("메일 발송 워커 시작: {}개, 소비자 {}", workerCount, prefix);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(blockMs + 5000);
+        }
+    }
+
+    private void run(Consumer consumer) {
+        boolean pendingFirst = true;
+        long nextClaimAt = 0;
+        try (MailBatchSender sender = new MailBatchSender(mailSender)) {
+            while (running) {
+                try {
+                    if (System.currentTimeMillis() >= nextClaimAt) {
+                        nextClaimAt = System.currentTimeMillis() + claimIntervalMs;
+                        if (claimIdle(consumer) > 0) {
+                            pendingFirst = true;
+                        }
+                    }
+                    List<MapRecord<String, Object, Object>> records = read(consumer, pendingFirst);
+                    if (records == null || records.isEmpty()) {
+                        pendingFirst = false;
+                        // 대기열이 비면 SMTP 연결을 닫음 (서버 idle timeout 전에)
+                        sender.close();
+                        continue;
+                    }
+                    process(sender, records);
+                } catch (Exception e) {
+                    log.error("메일 발송 워커 오류: {}", e.getMessage());
+                    // 확인하지 못한 메일은 pending에 남아 있으므로 다음에 다시 읽음
+                    pendingFirst = true;
+                    sleepQuietly(1000);
+                }
+            }
+        }
+    }
+
+    // 그룹 전체에서 claim-idle-ms 넘게 확인되지 않은 메일을 이 소비자의 pending으로 옮김
+    private long claimIdle(Consumer consumer) {
+        Long claimed = stringRedisTemplate.execute(CLAIM_IDLE_SCRIPT, List.of(MailOutbox.STREAM_KEY),
+                GROUP, consumer.getName(), String.valueOf(claimIdleMs), String.valueOf(batchSize * 10));
+        if (claimed != null && claimed > 0) {
+            log.warn("확인되지 않은 메일 {}건을 {}로 가져옴", claimed, consumer.getName());
+            return claimed;
+        }
+        return 0;
+    }
+
+    // pending이면 이 소비자가 받고 확인하지 못한 메일, 아니면 새 메일 (block-ms 대기)
+    private List<MapRecord<String, Object, Object>> read(Consumer consumer, boolean pending) {
+        StreamReadOptions options = StreamReadOptions.empty().count(batchSize);
+        if (!pending) {
+            options = options.block(Duration.ofMillis(blockMs));
+        }
+        ReadOffset offset = pending ? ReadOffset.from("0") : ReadOffset.lastConsumed();
+        return stringRedisTemplate.opsForStream().read(consumer, options,
+                StreamOffset.create(MailOutbox.STREAM_KEY, offset));
+    }
+
+    private void process(MailBatchSender sender, List<MapRecord<String, Object, Object>> records) {
+        List<MailMessageDTO> messages = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            Object payload = record.getValue().get(MailOutbox.PAYLOAD_FIELD);
+            if (payload == null) {
+                // 이미 삭제된 항목 (확인만 하고 넘어감)
+                continue;
+            }
+            try {
+                messages.add(mailOutbox.fromJson(String.valueOf(payload)));
+            } catch (IllegalArgumentException e) {
+                log.error("잘못된 메일 데이터 - dead 처리: {}", record.getId());
+                moveToDead(record.getId().getValue(), 0, "잘못된 메일 데이터");
+            }
+        }
+
+        List<MailBatchSender.Failure> failed = messages.isEmpty()
+                ? List.of()
+                : batchTimer.record(() -> sender.send(messages, fromEmail));
+        sent.increment(messages.size() - failed.size());
+
+        // 재시도 예약 후 확인 처리 (중간에 죽으면 pending에 남아 claim-idle-ms 뒤 다른 소비자가 다시 보냄 - 중복 발송 가능)
+        for (MailBatchSender.Failure failure : failed) {
+            scheduleRetry(failure);
+        }
+        RecordId[] ids = records.stream().map(MapRecord::getId).toArray(RecordId[]::new);
+        stringRedisTemplate.opsForStream().acknowledge(MailOutbox.STREAM_KEY, GROUP, ids);
+        stringRedisTemplate.opsForStream().delete(MailOutbox.STREAM_KEY, ids);
+    }
+
+    private void scheduleRetry(MailBatchSender.Failure failure) {
+        MailMessageDTO message = failure.getMessage();
+        message.setAttempt(message.getAttempt() + 1);
+        if (failure.isPermanent()) {
+            // 수신자 거부는 다시 보내도 같은 결과
+            log.error("메일 발송 포기 (수신자 거부): {}", message.getId());
+            moveToDead(message.getId(), message.getAttempt(), failure.getReason());
+            return;
+        }
+        if (message.getAttempt() >= maxAttempts) {
+            log.error("메일 발송 포기 ({}회 실패): {}", message.getAttempt(), message.getId());
+            moveToDead(message.getId(), message.getAttempt(), failure.getReason());
+            return;
+        }
+        long retryAt = System.currentTimeMillis() + backoff(message.getAttempt());
+        stringRedisTemplate.opsForZSet().add(MailOutbox.RETRY_KEY, mailOutbox.toJson(message), retryAt);
+        retried.increment();
+    }
+
+    private void moveToDead(String id, int attempt, String reason) {
+        stringRedisTemplate.execute(DEAD_SCRIPT, List.of(MailOutbox.DEAD_KEY),
+                mailOutbox.toDeadJson(id, attempt, reason), String.valueOf(deadMaxSize), String.valueOf(deadTtlMs));
+        dead.increment();
+    }
+
+    // 지수 백오프 + 최대 20% 지터
+    private long backoff(int attempt) {
+        long delay = Math.min(backoffMaxMs, backoffInitialMs << Math.min(attempt - 1, 20));
+        return delay + ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+    }
+
+    /**
+     * 재시도 시각이 된 메일을 발송 대기열로 이동 (여러 노드에서 실행해도 Lua로 원자적 처리)
+     */
+    @Scheduled(fixedDelayString = "${mail.outbox.retry-poll-ms:1000}")
+    public void releaseRetries() {
+        try {
+            stringRedisTemplate.execute(RELEASE_RETRY_SCRIPT,
+                    Arrays.asList(MailOutbox.RETRY_KEY, MailOutbox.STREAM_KEY),
+                    String.valueOf(System.currentTimeMillis()), String.valueOf(batchSize * 10));
+        } catch (Exception e) {
+            log.error("메일 재시도 이동 실패: {}", e.getMessage());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "mail-worker";
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
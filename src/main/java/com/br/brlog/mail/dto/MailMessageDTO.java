@@ -0,0 +1,24 @@
+package com.br.brlog.mail.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 발송 대기 메일 (Redis 스트림/재시도 큐에 JSON으로 저장)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MailMessageDTO {
+    // 메일 고유 ID (재시도 큐에서 같은 내용의 메일을 구분)
+    private String id;
+    private String to;
+    private String subject;
+    // HTML 본문
+    private String content;
+    // 지금까지 실패한 횟수
+    private int attempt;
+}
@@ -0,0 +1,266 @@
+package com.br.brlog.notification.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import com.br.brlog.notification.dto.NotificationDTO;
+import com.br.brlog.notification.dto.NotificationDTO.NotificationType;
+
+/**
+ * 바이너리 알림 직렬화 (버전 1)
+ * [버전 1B][id 8B big-endian, 없으면 0][플래그 1B][타입 코드 1B]
+ * [생성일 epoch ms][postId][commentId][seq][aggregateCount] - 플래그에 있는 값만, zigzag varint
+ * [userId][senderUserId][senderUserNm][senderProfileImgUrl][content] - (길이+1) varint + UTF-8, 0이면 null
+ * id를 고정 위치에 두어 Redis Lua 스크립트가 역직렬화 없이 알림을 찾을 수 있다.
+ * 생성일은 UTC 기준 ms 단위로 저장한다 (ms 미만은 버림).
+ */
+public class BinaryNotificationCodec implements NotificationCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final int FLAG_READ = 1;
+    private static final int FLAG_CREATED_AT = 1 << 1;
+    private static final int FLAG_POST_ID = 1 << 2;
+    private static final int FLAG_COMMENT_ID = 1 << 3;
+    private static final int FLAG_SEQ = 1 << 4;
+    private static final int FLAG_AGGREGATE_COUNT = 1 << 5;
+
+    // 알림 타입 코드 (enum 순서와 무관하게 고정, 0은 null)
+    private static final NotificationType[] TYPES = {
+            null, NotificationType.COMMENT, NotificationType.REPLY, NotificationType.LIKE, NotificationType.SYSTEM
+    };
+
+    @Override
+    public byte[] encode(NotificationDTO notification) {
+        Writer out = new Writer(64 + length(notification.getContent()));
+        out.writeByte(VERSION);
+        out.writeFixedLong(notification.getId() != null ? notification.getId() : 0L);
+
+        int flags = 0;
+        if (notification.isRead()) {
+            flags |= FLAG_READ;
+        }
+        if (notification.getCreatedAt() != null) {
+            flags |= FLAG_CREATED_AT;
+        }
+        if (notification.getPostId() != null) {
+            flags |= FLAG_POST_ID;
+        }
+        if (notification.getCommentId() != null) {
+            flags |= FLAG_COMMENT_ID;
+        }
+        if (notification.getSeq() != null) {
+            flags |= FLAG_SEQ;
+        }
+        if (notification.getAggregateCount() != null) {
+            flags |= FLAG_AGGREGATE_COUNT;
+        }
+        out.writeByte(flags);
+        out.writeByte(typeCode(notification.getType()));
+
+        if (notification.getCreatedAt() != null) {
+            out.writeVarLong(notification.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+        if (notification.getPostId() != null) {
+            out.writeVarLong(notification.getPostId());
+        }
+        if (notification.getCommentId() != null) {
+            out.writeVarLong(notification.getCommentId());
+        }
+        if (notification.getSeq() != null) {
+            out.writeVarLong(notification.getSeq());
+        }
+        if (notification.getAggregateCount() != null) {
+            out.writeVarLong(notification.getAggregateCount());
+        }
+
+        out.writeString(notification.getUserId());
+        out.writeString(notification.getSenderUserId());
+        out.writeString(notification.getSenderUserNm());
+        out.writeString(notification.getSenderProfileImgUrl());
+        out.writeString(notification.getContent());
+        return out.toByteArray();
+    }
+
+    @Override
+    public NotificationDTO decode(byte[] bytes) {
+        Reader in = new Reader(bytes);
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 알림 직렬화 버전입니다: " + version);
+        }
+
+        NotificationDTO notification = new NotificationDTO();
+        long id = in.readFixedLong();
+        notification.setId(id != 0L ? id : null);
+
+        int flags = in.readByte();
+        notification.setRead((flags & FLAG_READ) != 0);
+        int type = in.readByte();
+        notification.setType(type < TYPES.length ? TYPES[type] : null);
+
+        if ((flags & FLAG_CREATED_AT) != 0) {
+            notification.setCreatedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readVarLong()), ZoneOffset.UTC));
+        }
+        if ((flags & FLAG_POST_ID) != 0) {
+            notification.setPostId(in.readVarLong());
+        }
+        if ((flags & FLAG_COMMENT_ID) != 0) {
+            notification.setCommentId(in.readVarLong());
+        }
+        if ((flags & FLAG_SEQ) != 0) {
+            notification.setSeq(in.readVarLong());
+        }
+        if ((flags & FLAG_AGGREGATE_COUNT) != 0) {
+            notification.setAggregateCount((int) in.readVarLong());
+        }
+
+        notification.setUserId(in.readString());
+        notification.setSenderUserId(in.readString());
+        notification.setSenderUserNm(in.readString());
+        notification.setSenderProfileImgUrl(in.readString());
+        notification.setContent(in.readString());
+        return notification;
+    }
+
+    /**
+     * 알림 ID를 고정 위치 형식(8B big-endian)으로 변환 - Lua 스크립트 비교용
+     */
+    public static byte[] idBytes(long id) {
+        byte[] bytes = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            bytes[i] = (byte) id;
+            id >>>= 8;
+        }
+        return bytes;
+    }
+
+    private static int typeCode(NotificationType type) {
+        if (type == null) {
+            return 0;
+        }
+        switch (type) {
+            case COMMENT:
+                return 1;
+            case REPLY:
+                return 2;
+            case LIKE:
+                return 3;
+            case SYSTEM:
+                return 4;
+            default:
+                throw new IllegalArgumentException("알림 타입 코드가 없습니다: " + type);
+        }
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() * 3 : 0;
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        private Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void ensure(int size) {
+            if (position + size > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + size));
+            }
+        }
+
+        private void writeByte(int value) {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeFixedLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void writeVarLong(long value) {
+            // zigzag 후 7비트씩
+            long zigzag = (value << 1) ^ (value >> 63);
+            ensure(10);
+            while ((zigzag & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            buffer[position++] = (byte) zigzag;
+        }
+
+        private void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        private Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private int readByte() {
+            if (position >= buffer.length) {
+                throw new IllegalArgumentException("알림 데이터가 잘렸습니다");
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private long readFixedLong() {
+            long value = 0L;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | readByte();
+            }
+            return value;
+        }
+
+        private long readVarLong() {
+            long zigzag = 0L;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                zigzag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new IllegalArgumentException("잘못된 varint 입니다");
+        }
+
+        private String readString() {
+            long length = readVarLong();
+            if (length == 0) {
+                return null;
+            }
+            int size = (int) (length - 1);
+            if (size < 0 || position + size > buffer.length) {
+                throw new IllegalArgumentException("알림 데이터가 잘렸습니다");
+            }
+            String value = new String(buffer, position, size, StandardCharsets.UTF_8);
+            position += size;
+            return value;
+        }
+    }
+}
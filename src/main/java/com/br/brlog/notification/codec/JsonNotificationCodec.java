@@ -0,0 +1,36 @@
+package com.br.brlog.notification.codec;
+
+import java.io.IOException;
+
+import com.br.brlog.notification.dto.NotificationDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JSON 알림 직렬화 (기존 방식, 첫 바이트가 '{')
+ */
+public class JsonNotificationCodec implements NotificationCodec {
+
+    private final ObjectMapper objectMapper;
+
+    public JsonNotificationCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public byte[] encode(NotificationDTO notification) {
+        try {
+            return objectMapper.writeValueAsBytes(notification);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("알림 JSON 직렬화 실패", e);
+        }
+    }
+
+    @Override
+    public NotificationDTO decode(byte[] bytes) {
+        try {
+            return objectMapper.readValue(bytes, NotificationDTO.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("알림 JSON 역직렬화 실패", e);
+        }
+    }
+}
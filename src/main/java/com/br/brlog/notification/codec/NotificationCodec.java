@@ -0,0 +1,13 @@
+package com.br.brlog.notification.codec;
+
+import com.br.brlog.notification.dto.NotificationDTO;
+
+/**
+ * 알림 직렬화 방식 (Kafka 레코드, Redis 알림함 공용)
+ */
+public interface NotificationCodec {
+
+    byte[] encode(NotificationDTO notification);
+
+    NotificationDTO decode(byte[] bytes);
+}
@@ -0,0 +1,23 @@
+package com.br.brlog.notification.codec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 알림 직렬화 설정
+ * notification.codec.format (binary / json) 으로 쓰기 형식을 고르며, 읽기는 항상 두 형식을 모두 지원한다.
+ */
+@Configuration
+public class NotificationCodecConfig {
+
+    @Value("${notification.codec.format:binary}")
+    private String format;
+
+    @Bean
+    public NotificationCodecs notificationCodec(ObjectMapper objectMapper) {
+        return new NotificationCodecs(format, new BinaryNotificationCodec(), new JsonNotificationCodec(objectMapper));
+    }
+}
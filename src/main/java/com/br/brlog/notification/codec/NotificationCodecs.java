@@ -0,0 +1,49 @@
+package com.br.brlog.notification.codec;
+
+import com.br.brlog.notification.dto.NotificationDTO;
+
+/**
+ * 설정한 형식으로 쓰고, 읽을 때는 첫 바이트로 형식을 판별하는 알림 직렬화
+ * JSON('{')과 바이너리(버전 바이트)가 섞여 있어도 읽을 수 있으므로 형식을 바꿔도 기존 레코드/알림함을 그대로 쓴다.
+ */
+public class NotificationCodecs implements NotificationCodec {
+
+    public static final String BINARY = "binary";
+    public static final String JSON = "json";
+
+    private final NotificationCodec writer;
+    private final BinaryNotificationCodec binary;
+    private final JsonNotificationCodec json;
+
+    public NotificationCodecs(String format, BinaryNotificationCodec binary, JsonNotificationCodec json) {
+        if (BINARY.equalsIgnoreCase(format)) {
+            this.writer = binary;
+        } else if (JSON.equalsIgnoreCase(format)) {
+            this.writer = json;
+        } else {
+            throw new IllegalArgumentException("지원하지 않는 알림 직렬화 형식입니다: " + format);
+        }
+        this.binary = binary;
+        this.json = json;
+    }
+
+    @Override
+    public byte[] encode(NotificationDTO notification) {
+        return writer.encode(notification);
+    }
+
+    @Override
+    public NotificationDTO decode(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        return bytes[0] == '{' ? json.decode(bytes) : binary.decode(bytes);
+    }
+
+    /**
+     * 쓰기 형식이 바이너리인지 여부
+     */
+    public boolean isBinary() {
+        return writer == binary;
+    }
+}
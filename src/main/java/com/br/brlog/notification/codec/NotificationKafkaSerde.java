@@ -0,0 +1,34 @@
+package com.br.brlog.notification.codec;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+
+import com.br.brlog.notification.dto.NotificationDTO;
+
+/**
+ * 알림 Kafka 직렬화 (NotificationCodec 위임)
+ * 인스턴스를 SenderOptions/ReceiverOptions에 직접 넘겨 사용한다.
+ */
+public class NotificationKafkaSerde implements Serializer<NotificationDTO>, Deserializer<NotificationDTO> {
+
+    private final NotificationCodec codec;
+
+    public NotificationKafkaSerde(NotificationCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] serialize(String topic, NotificationDTO data) {
+        return data != null ? codec.encode(data) : null;
+    }
+
+    @Override
+    public NotificationDTO deserialize(String topic, byte[] data) {
+        return data != null ? codec.decode(data) : null;
+    }
+
+    @Override
+    public void close() {
+        // Serializer/Deserializer 양쪽 기본 구현 충돌 해소 (정리할 자원 없음)
+    }
+}
@@ -0,0 +1,35 @@
+package com.br.brlog.notification.codec;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.br.brlog.notification.dto.NotificationDTO;
+
+/**
+ * 알림 Redis 직렬화 (NotificationCodec 위임)
+ */
+public class NotificationRedisSerializer implements RedisSerializer<NotificationDTO> {
+
+    private final NotificationCodec codec;
+
+    public NotificationRedisSerializer(NotificationCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] serialize(NotificationDTO value) throws SerializationException {
+        return value != null ? codec.encode(value) : null;
+    }
+
+    @Override
+    public NotificationDTO deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return codec.decode(bytes);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("알림 역직렬화 실패", e);
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.br.brlog.notification.controller;
 
-import java.util.Date;
+import java.time.Duration;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,10 +17,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.br.brlog.common.ResponseCode;
 import com.br.brlog.common.dto.ResponseDTO;
 import com.br.brlog.notification.dto.NotificationDTO;
 import com.br.brlog.notification.service.NotificationService;
 import com.br.brlog.security.jwt.JwtTokenProvider;
+import com.br.brlog.security.jwt.JwtTokenProvider.VerifiedToken;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,131 +38,157 @@ public class NotificationController {
     private final NotificationService notificationService;
     private final JwtTokenProvider tokenProvider;
     
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    // 다음 페이지 커서 응답 헤더
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    // SSE 알림 이벤트 이름
+    private static final String NOTIFICATION_EVENT = "notification";
+    
+    // SSE 연결 유지용 heartbeat 주기
+    @Value("${notification.stream.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMs;
+    
     /**
      * 실시간 알림을 위한 SSE(Server-Sent Events) 엔드 포인트
+     * 이벤트 ID는 알림함 seq이며, 재연결 시 Last-Event-ID 이후 알림만 다시 보낸다.
+     * 연결 유지를 위해 주기적으로 주석 이벤트(heartbeat)를 보낸다.
      */
     @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<NotificationDTO> streamNotifications(
+    public Flux<ServerSentEvent<NotificationDTO>> streamNotifications(
             @RequestParam("userId") String userId,
-            @RequestParam(value = "token", required = false) String token) {
+            @RequestParam(value = "token", required = false) String token,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader) {
         
-    	// 토큰 유효성 검사 (JWT)
-    	if (token == null || !tokenProvider.validateToken(token)) {
+    	// 토큰 유효성 검사 (JWT) - 본인 알림만 구독 가능
+    	if (checkOwner(userId, null, token) != null) {
             return Flux.error(new AccessDeniedException("Unauthorized"));
         }
         
-        log.info("User {} connected to notification stream", userId);
-        return notificationService.getNotificationsForUser(userId)
+        Long lastSeq = parseEventId(lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam);
+        log.info("User {} connected to notification stream (lastEventId={})", userId, lastSeq);
+        
+        Flux<ServerSentEvent<NotificationDTO>> notifications = notificationService.getNotificationsForUser(userId, lastSeq)
                 .doOnNext(notification -> log.debug("Sending notification to user {}: {}", userId, notification))
+                .map(notification -> ServerSentEvent.<NotificationDTO>builder(notification)
+                        .id(notification.getSeq() != null ? String.valueOf(notification.getSeq()) : null)
+                        .event(NOTIFICATION_EVENT)
+                        .build());
+        
+        Flux<ServerSentEvent<NotificationDTO>> heartbeats = Flux.interval(Duration.ofMillis(heartbeatIntervalMs))
+                .map(tick -> ServerSentEvent.<NotificationDTO>builder().comment("heartbeat").build());
+        
+        return Flux.merge(notifications, heartbeats)
                 .doOnCancel(() -> log.info("User {} disconnected from notification stream", userId));
     }
     
     /**
      * 최근 알림 얻기
+     * cursor(이전 응답의 X-Next-Cursor)를 주면 그 이후 알림부터 조회한다.
      */
     @SuppressWarnings("unchecked")
     @GetMapping
     public Mono<ResponseEntity<ResponseDTO<List<NotificationDTO>>>> getRecentNotifications(
             @RequestParam("userId") String userId,
-            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "unreadOnly", defaultValue = "true") boolean unreadOnly) {
         
-//        Flux<NotificationDTO> notifications = notificationService.getRecentNotifications(userId, limit);
-//        ResponseDTO<Flux<NotificationDTO>> responseDTO = ResponseDTO.from(notifications);
-//        return Mono.just(ResponseEntity.ok(responseDTO));
-    	
-    	// Flux를 List로 변환 후 반환
-        return notificationService.getRecentNotifications(userId, limit)
-                .collectList()  // Flux를 Mono<List>로 변환
-                .map(notifications -> {
-                    ResponseDTO<List<NotificationDTO>> responseDTO = ResponseDTO.from(notifications);
-                    return ResponseEntity.ok(responseDTO);
+        if (limit < 1 || limit > 100) {
+            return Mono.just(ResponseEntity.badRequest().body(ResponseDTO.of(null, ResponseCode.ERROR_INVALID_PARAMETER)));
+        }
+        
+        return notificationService.getRecentNotifications(userId, cursor, limit, unreadOnly)
+                .map(page -> {
+                    ResponseDTO<List<NotificationDTO>> responseDTO = ResponseDTO.from(page.getNotifications());
+                    ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+                    if (page.getNextCursor() != null) {
+                        builder.header(NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+                    }
+                    return builder.body(responseDTO);
                 });
     }
     
     /**
      * 알림 읽음 처리
+     * seq(조회 응답의 seq)를 함께 주면 알림함에서 ID를 찾지 않고 바로 처리한다.
      */
     @SuppressWarnings("unchecked")
     @PostMapping("/{notificationId}/read")
     public Mono<ResponseEntity<ResponseDTO<Void>>> markAsRead(
             @PathVariable("notificationId") Long notificationId,
             @RequestParam("userId") String userId,
+            @RequestParam(value = "seq", required = false) Long seq,
             @RequestParam(value = "token", required = false) String tokenParam,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
         
-        // 디버깅: 받은 모든 값 로깅
-        log.info("====== NOTIFICATION READ DEBUG ======");
-        log.info("NotificationId: {}", notificationId);
-        log.info("UserId: {}", userId);
-        log.info("Token param length: {}", tokenParam != null ? tokenParam.length() : 0);
-        log.info("Auth header present: {}", authHeader != null);
+        ResponseCode denied = checkOwner(userId, authHeader, tokenParam);
+        if (denied != null) {
+            return Mono.just(deny(denied));
+        }
         
-        boolean isAuthenticated = false;
-        String usedToken = null;
+        return notificationService.markAsRead(notificationId, seq, userId)
+                .doOnSuccess(v -> log.debug("Notification {} marked as read", notificationId))
+                .thenReturn(ResponseEntity.ok(ResponseDTO.from(null)));
+    }
+    
+    /**
+     * 모든 알림 읽음 처리
+     */
+    @SuppressWarnings("unchecked")
+    @PostMapping("/read-all")
+    public Mono<ResponseEntity<ResponseDTO<Void>>> markAllAsRead(
+            @RequestParam("userId") String userId,
+            @RequestParam(value = "token", required = false) String tokenParam,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
         
+        ResponseCode denied = checkOwner(userId, authHeader, tokenParam);
+        if (denied != null) {
+            return Mono.just(deny(denied));
+        }
+        
+        return notificationService.markAllAsRead(userId)
+                .thenReturn(ResponseEntity.ok(ResponseDTO.from(null)));
+    }
+    
+    /**
+     * 토큰(Authorization 헤더 우선, 없으면 token 파라미터)의 사용자가 userId 본인인지 확인
+     * 통과하면 null, 토큰이 없거나 유효하지 않거나 폐기되었으면 TOKEN_INVALID, 다른 사용자면 UNAUTHORIZED
+     */
+    private ResponseCode checkOwner(String userId, String authHeader, String tokenParam) {
+        String token = authHeader != null && authHeader.startsWith(BEARER_PREFIX)
+                ? authHeader.substring(BEARER_PREFIX.length())
+                : tokenParam;
+        VerifiedToken verified = token != null ? tokenProvider.authenticate(token) : null;
+        if (verified == null) {
+            return ResponseCode.TOKEN_INVALID;
+        }
+        if (!verified.getUserId().equals(userId)) {
+            log.warn("다른 사용자의 알림 접근 거부: {} -> {}", verified.getUserId(), userId);
+            return ResponseCode.UNAUTHORIZED;
+        }
+        return null;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static ResponseEntity<ResponseDTO<Void>> deny(ResponseCode code) {
+        HttpStatus status = code == ResponseCode.TOKEN_INVALID ? HttpStatus.UNAUTHORIZED : HttpStatus.FORBIDDEN;
+        return ResponseEntity.status(status).body(ResponseDTO.of(null, code));
+    }
+    
+    /**
+     * SSE 이벤트 ID(seq) 파싱 - 숫자가 아니면 무시
+     */
+    private static Long parseEventId(String eventId) {
+        if (eventId == null || eventId.isBlank()) {
+            return null;
+        }
         try {
-            // 1. 인증 헤더 처리
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                usedToken = authHeader.substring(7);
-                log.info("Auth header token first 20 chars: {}", usedToken.substring(0, Math.min(20, usedToken.length())));
-                log.info("Validating from auth header");
-                isAuthenticated = tokenProvider.validateToken(usedToken);
-                log.info("Auth header validation result: {}", isAuthenticated);
-                
-                if (!isAuthenticated) {
-                    try {
-                        // 만료 날짜 확인
-                        Date expDate = tokenProvider.getExpirationDate(usedToken);
-                        log.info("Auth header token expiration: {}", expDate);
-                    } catch (Exception e) {
-                        log.error("Failed to get expiration date from auth header token: {}", e.getMessage());
-                    }
-                }
-            }
-            
-            // 2. 토큰 파라미터 처리
-            if (!isAuthenticated && tokenParam != null) {
-                usedToken = tokenParam;
-                log.info("Token param first 20 chars: {}", usedToken.substring(0, Math.min(20, usedToken.length())));
-                log.info("Validating from token param");
-                isAuthenticated = tokenProvider.validateToken(tokenParam);
-                log.info("Token param validation result: {}", isAuthenticated);
-                
-                if (!isAuthenticated) {
-                    try {
-                        // 만료 날짜 확인
-                        Date expDate = tokenProvider.getExpirationDate(tokenParam);
-                        log.info("Token param expiration: {}", expDate);
-                    } catch (Exception e) {
-                        log.error("Failed to get expiration date from token param: {}", e.getMessage());
-                    }
-                }
-            }
-            
-            // 3. 토큰 검증 실패 원인 분석
-            if (!isAuthenticated && usedToken != null) {
-                try {
-                    // 사용자명 추출 시도
-                    String username = tokenProvider.getUsername(usedToken);
-                    log.info("Token username: {}", username);
-                } catch (Exception e) {
-                    log.error("Token username extraction error: {}", e.getMessage());
-                }
-            }
-            
-            if (!isAuthenticated) {
-                log.warn("Authentication failed");
-                return Mono.error(new AccessDeniedException("Unauthorized"));
-            }
-            
-            log.info("Authentication successful!");
-            return notificationService.markAsRead(notificationId, userId)
-                    .doOnSuccess(v -> log.info("Notification {} marked as read", notificationId))
-                    .thenReturn(ResponseEntity.ok(ResponseDTO.from(null)));
-                    
-        } catch (Exception e) {
-            log.error("Unexpected error in markAsRead: {}", e.getMessage(), e);
-            return Mono.error(e);
+            return Long.parseLong(eventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
         }
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package com.br.brlog.notification.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -16,7 +18,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class NotificationDTO {
-    private Long id;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Long id;                	// 알림 ID (Snowflake, JS 정수 범위를 넘으므로 문자열로 직렬화)
     private String userId;          	// 알림 받는사람 ID
     private String senderUserId;    	// 알림 보내는사람 ID
     private String senderUserNm;    	// 알림 보내는사람 이름
@@ -27,6 +30,8 @@ public class NotificationDTO {
     private Long commentId;         	// 댓글 ID
     private boolean isRead;         	// 읽음 여부
     private LocalDateTime createdAt; 	// 생성일
+    private Long seq;               	// 알림함 내 순번 (조회 시 채움, 커서로 사용)
+    private Integer aggregateCount; 	// 합쳐진 알림 수 (묶음 알림일 때만)
     
     // Enum for notification types
     public enum NotificationType {
@@ -0,0 +1,18 @@
+package com.br.brlog.notification.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 알림함 조회 결과 (nextCursor가 null이면 마지막 페이지)
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class NotificationPage {
+    private final List<NotificationDTO> notifications;
+    private final Long nextCursor;
+}
@@ -0,0 +1,221 @@
+package com.br.brlog.notification.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import com.br.brlog.common.id.SnowflakeIdGenerator;
+import com.br.brlog.notification.dto.NotificationDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 알림 묶음 처리
+ * 같은 (수신자, 게시글, 타입)의 첫 알림은 바로 보내고, 이후 window-ms 동안 들어온 후속 알림만 모아
+ * 1건으로 합쳐 내보낸다 ("OOO님 외 N명이 댓글 K개를 달았습니다").
+ * 창이 닫히거나 후속 알림이 max-size건 모이면 내보내며, 후속 알림이 1건뿐이면 원래 알림을 그대로 보낸다.
+ * 게시글이 없는 알림(시스템 알림 등)은 묶지 않는다.
+ * 종료 시 남은 창을 내보내야 하므로 전송에 쓰는 알림함/전송 파이프라인보다 먼저 정리되도록 의존 관계를 둔다.
+ */
+@Slf4j
+@Component
+@DependsOn({"notificationPublisher", "notificationInbox"})
+public class NotificationCoalescer {
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    private final SnowflakeIdGenerator idGenerator;
+    private final Scheduler scheduler = Schedulers.parallel();
+
+    private final Counter absorbed;
+    private final Counter emitted;
+
+    // 묶는 시간 (0이면 묶지 않음)
+    @Value("${notification.coalesce.window-ms:3000}")
+    private long windowMs;
+
+    // 창 하나에 모을 최대 알림 수 (도달 시 즉시 내보냄)
+    @Value("${notification.coalesce.max-size:50}")
+    private int maxSize;
+
+    // 종료 시 남은 창을 내보내고 전송 완료를 기다리는 최대 시간
+    @Value("${notification.coalesce.shutdown-timeout-ms:5000}")
+    private long shutdownTimeoutMs;
+
+    public NotificationCoalescer(SnowflakeIdGenerator idGenerator, MeterRegistry meterRegistry) {
+        this.idGenerator = idGenerator;
+        Gauge.builder("notification.coalesce.windows", windows, Map::size)
+                .description("열려 있는 알림 묶음 창 수")
+                .register(meterRegistry);
+        this.absorbed = Counter.builder("notification.coalesce.absorbed")
+                .description("다른 알림에 합쳐져 따로 보내지 않은 알림 수")
+                .register(meterRegistry);
+        this.emitted = Counter.builder("notification.coalesce.emitted")
+                .description("묶음 처리 후 내보낸 알림 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 알림을 묶음 창에 넣기 (창의 첫 알림은 바로, 후속 알림은 창이 닫히면 deliver로 내보냄)
+     */
+    public void offer(NotificationDTO notification, Function<NotificationDTO, Mono<Void>> deliver) {
+        if (windowMs <= 0 || notification.getPostId() == null) {
+            emit(notification, deliver);
+            return;
+        }
+
+        String key = notification.getType() + ":" + notification.getUserId() + ":" + notification.getPostId();
+        // [0] 새로 연 창, [1] 가득 차서 닫은 창
+        Window[] changed = new Window[2];
+        windows.compute(key, (k, existing) -> {
+            if (existing == null) {
+                changed[0] = new Window(deliver);
+                return changed[0];
+            }
+            existing.add(notification);
+            if (existing.count >= maxSize) {
+                changed[1] = existing;
+                return null;
+            }
+            return existing;
+        });
+
+        if (changed[1] != null) {
+            flush(changed[1]);
+        } else if (changed[0] != null) {
+            // 첫 알림은 기다리지 않고 바로 보낸다
+            emit(notification, deliver);
+            Window window = changed[0];
+            scheduler.schedule(() -> {
+                if (windows.remove(key, window)) {
+                    flush(window);
+                }
+            }, windowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 종료 시 열린 창 모두 내보내고 전송 완료까지 기다리기 (shutdown-timeout-ms)
+     */
+    @PreDestroy
+    public void flushAll() {
+        List<Mono<Void>> deliveries = new ArrayList<>();
+        for (String key : windows.keySet()) {
+            Window window = windows.remove(key);
+            if (window != null && window.count > 0) {
+                NotificationDTO notification = combine(window);
+                emitted.increment();
+                deliveries.add(deliver(notification, window.deliver));
+            }
+        }
+        if (deliveries.isEmpty()) {
+            return;
+        }
+        try {
+            Mono.when(deliveries).block(Duration.ofMillis(shutdownTimeoutMs));
+        } catch (IllegalStateException e) {
+            log.warn("종료 시 묶음 알림 전송 대기 시간 초과 ({}ms), {}건", shutdownTimeoutMs, deliveries.size());
+        }
+    }
+
+    private void flush(Window window) {
+        if (window.count > 0) {
+            emit(combine(window), window.deliver);
+        }
+    }
+
+    /**
+     * 후속 알림이 1건이면 그대로, 여러 건이면 합친 알림
+     */
+    private NotificationDTO combine(Window window) {
+        if (window.count == 1) {
+            return window.latest;
+        }
+        absorbed.increment(window.count - 1);
+        return aggregate(window);
+    }
+
+    private void emit(NotificationDTO notification, Function<NotificationDTO, Mono<Void>> deliver) {
+        emitted.increment();
+        deliver(notification, deliver).subscribe();
+    }
+
+    private static Mono<Void> deliver(NotificationDTO notification, Function<NotificationDTO, Mono<Void>> deliver) {
+        return deliver.apply(notification)
+                .doOnError(error -> log.error("알림 전송 실패: userId={}, {}",
+                        notification.getUserId(), error.getMessage()))
+                .onErrorResume(error -> Mono.empty());
+    }
+
+    /**
+     * 창의 후속 알림들을 1건으로 합치기 (발신자/댓글은 가장 최근 알림 기준)
+     */
+    private NotificationDTO aggregate(Window window) {
+        NotificationDTO latest = window.latest;
+        return NotificationDTO.builder()
+                .id(idGenerator.nextId())
+                .userId(latest.getUserId())
+                .senderUserId(latest.getSenderUserId())
+                .senderUserNm(latest.getSenderUserNm())
+                .senderProfileImgUrl(latest.getSenderProfileImgUrl())
+                .type(latest.getType())
+                .content(aggregateContent(latest, window.senders.size(), window.count))
+                .postId(latest.getPostId())
+                .commentId(latest.getCommentId())
+                .isRead(false)
+                .createdAt(LocalDateTime.now())
+                .aggregateCount(window.count)
+                .build();
+    }
+
+    private static String aggregateContent(NotificationDTO latest, int senders, int count) {
+        String who = senders > 1
+                ? latest.getSenderUserNm() + "님 외 " + (senders - 1) + "명이"
+                : latest.getSenderUserNm() + "님이";
+        switch (latest.getType()) {
+            case LIKE:
+                return who + " 회원님의 게시글을 좋아합니다";
+            case REPLY:
+                return who + " 회원님의 댓글에 답글 " + count + "개를 달았습니다";
+            case COMMENT:
+            default:
+                return who + " 회원님의 게시글에 댓글 " + count + "개를 달았습니다";
+        }
+    }
+
+    private static class Window {
+        // 후속 알림만 담는다 (첫 알림은 창을 열 때 이미 보냄) - 최대 max-size건이므로 발신자도 그 이하
+        // compute 안에서만 변경하고, 맵에서 제거된 뒤에 읽는다
+        private final Function<NotificationDTO, Mono<Void>> deliver;
+        private final Set<String> senders = new LinkedHashSet<>();
+        private NotificationDTO latest;
+        private int count;
+
+        private Window(Function<NotificationDTO, Mono<Void>> deliver) {
+            this.deliver = deliver;
+        }
+
+        private void add(NotificationDTO notification) {
+            latest = notification;
+            count++;
+            senders.add(notification.getSenderUserId());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.br.brlog.notification.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.br.brlog.notification.dto.NotificationDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.util.retry.Retry;
+
+/**
+ * 알림 토픽 컨슈머
+ * 노드별 컨슈머 그룹으로 모든 알림을 받아, 이 노드에 SSE로 연결된 사용자에게만 전달한다.
+ * - 파티션별로 순서를 지키며, 파티션 그룹마다 처리 스케줄러로 넘겨 수신 스레드와 분리해 병렬 처리
+ * - 처리한 레코드는 acknowledge 후 건수/주기 기준으로 일괄 커밋
+ * - 파티션별 lag을 주기적으로 계산해 게이지로 노출
+ */
+@Slf4j
+@Service
+public class NotificationConsumer {
+
+    private final ReceiverOptions<String, NotificationDTO> receiverOptions;
+    private final NotificationSubscriptionRegistry subscriptionRegistry;
+    private final String notificationTopic;
+
+    private final AtomicLong lag = new AtomicLong();
+    private final Counter received;
+    private final Counter delivered;
+    private final Counter failures;
+
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    @Value("${notification.consumer.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notification.consumer.lag-interval-ms:30000}")
+    private long lagIntervalMs;
+
+    // 레코드 처리 스레드 수 (파티션 그룹은 이 스레드들에 나뉘어 배정됨)
+    @Value("${notification.consumer.threads:4}")
+    private int threads;
+
+    // 동시에 열어 둘 수 있는 파티션 그룹 수 (토픽 파티션 수 이상이어야 groupBy가 멈추지 않음)
+    @Value("${notification.consumer.max-partitions:256}")
+    private int maxPartitions;
+
+    private Scheduler scheduler;
+
+    public NotificationConsumer(ReceiverOptions<String, NotificationDTO> notificationReceiverOptions,
+                                NotificationSubscriptionRegistry subscriptionRegistry,
+                                String notificationTopic,
+                                MeterRegistry meterRegistry) {
+        this.receiverOptions = notificationReceiverOptions;
+        this.subscriptionRegistry = subscriptionRegistry;
+        this.notificationTopic = notificationTopic;
+
+        Gauge.builder("notification.consumer.lag", lag, AtomicLong::get)
+                .description("알림 컨슈머 lag 합계 (레코드 수)")
+                .register(meterRegistry);
+        this.received = Counter.builder("notification.consumer.received")
+                .description("수신한 알림 레코드 수")
+                .register(meterRegistry);
+        this.delivered = Counter.builder("notification.consumer.delivered")
+                .description("로컬 구독자가 있어 전달한 알림 수")
+                .register(meterRegistry);
+        this.failures = Counter.builder("notification.consumer.failures")
+                .description("알림 레코드 처리 실패 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 컨슈머 사용 여부 (비활성화 시 프로듀서 노드에서 직접 전달)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 기동 후 컨슈머 시작
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("알림 컨슈머 비활성화 - 프로듀서 노드에서만 실시간 전달");
+            return;
+        }
+
+        KafkaReceiver<String, NotificationDTO> receiver = KafkaReceiver.create(receiverOptions);
+        scheduler = Schedulers.newParallel("notification-consumer", threads);
+
+        // 파티션 그룹마다 publishOn으로 처리 스레드를 하나씩 배정 (그룹 안에서는 순서 유지)
+        // 동시 그룹 수는 기동 시 파티션 수가 아니라 설정값으로 잡아, 나중에 파티션이 늘어도 멈추지 않게 한다
+        log.info("알림 컨슈머 시작: topic={}, 처리 스레드={}, 최대 파티션 그룹={}", notificationTopic, threads, maxPartitions);
+        Disposable pipeline = receiver.receive()
+                .groupBy(record -> record.receiverOffset().topicPartition().partition())
+                .flatMap(partition -> partition.publishOn(scheduler).doOnNext(this::handle), maxPartitions)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("알림 컨슈머 재시작: {}", signal.failure().getMessage())))
+                .subscribe();
+        subscriptions.add(pipeline);
+
+        Disposable lagMonitor = Flux.interval(Duration.ofMillis(lagIntervalMs))
+                .flatMap(tick -> receiver.doOnConsumer(consumer -> {
+                    Set<TopicPartition> assignment = consumer.assignment();
+                    if (assignment.isEmpty()) {
+                        return 0L;
+                    }
+                    Map<TopicPartition, Long> endOffsets = consumer.endOffsets(assignment);
+                    long total = 0L;
+                    for (TopicPartition partition : assignment) {
+                        total += Math.max(0L, endOffsets.getOrDefault(partition, 0L) - consumer.position(partition));
+                    }
+                    return total;
+                }).onErrorResume(e -> Mono.empty()), 1)
+                .subscribe(lag::set);
+        subscriptions.add(lagMonitor);
+    }
+
+    /**
+     * 종료 시 컨슈머 정리 (커밋 대기 중인 오프셋은 reactor-kafka가 닫기 전에 커밋)
+     */
+    @PreDestroy
+    public void stop() {
+        subscriptions.dispose();
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+
+    private void handle(ReceiverRecord<String, NotificationDTO> record) {
+        received.increment();
+        try {
+            NotificationDTO notification = record.value();
+            if (notification != null && subscriptionRegistry.hasSubscribers(notification.getUserId())) {
+                subscriptionRegistry.publish(notification);
+                delivered.increment();
+            }
+        } catch (Exception e) {
+            // 실시간 전달 실패는 재처리하지 않는다 (최근 알림은 Redis 목록에서 조회 가능)
+            failures.increment();
+            log.error("알림 레코드 처리 실패: partition={}, offset={}, {}",
+                    record.partition(), record.offset(), e.getMessage());
+        }
+        record.receiverOffset().acknowledge();
+    }
+}
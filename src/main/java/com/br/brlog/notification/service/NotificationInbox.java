@@ -0,0 +1,364 @@
+package com.br.brlog.notification.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import com.br.brlog.notification.codec.BinaryNotificationCodec;
+import com.br.brlog.notification.codec.NotificationCodecs;
+import com.br.brlog.notification.dto.NotificationDTO;
+import com.br.brlog.notification.dto.NotificationPage;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 사용자별 알림함 (Redis 목록)
+ * - notifications:{userId}      최신순 알림 목록 (최대 max-size건)
+ * - notifications:seq:{userId}  지금까지 넣은 알림 수 = 목록 맨 앞 알림의 seq
+ * - notifications:readwm:{userId}   읽음 워터마크 (이 seq 이하는 모두 읽음)
+ * - notifications:readbits:{userId} 워터마크 위 읽음 비트맵 (seq % ring 위치, ring비트 고정 크기)
+ * 목록의 i번째 알림의 seq는 (맨 앞 seq - i)이므로 seq 커서로 바로 이어서 읽을 수 있다.
+ * 새 알림을 넣을 때 같은 위치의 비트를 지우므로 비트맵은 목록과 함께 정리되고 사용자당 크기가 고정된다.
+ * 넣기/읽기/읽음 처리 모두 Lua 스크립트 1회로 처리한다.
+ */
+@Slf4j
+@Component
+public class NotificationInbox {
+
+    // 비트맵 최소 크기 (비트)
+    private static final int MIN_RING_BITS = 128;
+
+    /**
+     * 공통 앞부분 - len, head 계산 및 기존 읽음 세트(ID 문자열) 이전
+     * KEYS: list, seq, readWatermark, readBits, legacyReadSet / ARGV[1]: ring
+     * 기존 세트에 있던 ID는 목록에 남은 알림만 비트로 옮기고 세트는 삭제한다.
+     * 알림은 바이너리(id가 2~9바이트에 고정) 또는 JSON('{'로 시작)으로 저장되어 있을 수 있다.
+     * JSON 알림의 ID가 숫자면 지수 표기 없이 문자열로 바꿔 비교한다. 이전 세트에는 JSON 알림만 있다.
+     */
+    private static final String PRELUDE =
+            "local function idOf(decoded)\n"
+          + "  local id = decoded['id']\n"
+          + "  if type(id) == 'number' then return string.format('%.0f', id) end\n"
+          + "  return id\n"
+          + "end\n"
+          + "local function isJson(item) return string.sub(item, 1, 1) == '{' end\n"
+          + "local ring = tonumber(ARGV[1])\n"
+          + "local len = redis.call('LLEN', KEYS[1])\n"
+          + "local head = tonumber(redis.call('GET', KEYS[2]) or '0')\n"
+          + "if head < len then head = len end\n"
+          + "if redis.call('EXISTS', KEYS[5]) == 1 then\n"
+          + "  local items = redis.call('LRANGE', KEYS[1], 0, -1)\n"
+          + "  for i = 1, #items do\n"
+          + "    if isJson(items[i]) then\n"
+          + "      local ok, decoded = pcall(cjson.decode, items[i])\n"
+          + "      if ok and idOf(decoded) ~= nil and redis.call('SISMEMBER', KEYS[5], idOf(decoded)) == 1 then\n"
+          + "        redis.call('SETBIT', KEYS[4], (head - i + 1) % ring, 1)\n"
+          + "      end\n"
+          + "    end\n"
+          + "  end\n"
+          + "  redis.call('DEL', KEYS[5])\n"
+          + "end\n"
+          + "local wm = tonumber(redis.call('GET', KEYS[3]) or '0')\n";
+
+    /**
+     * 알림 넣기 - 새 seq 반환
+     * KEYS: list, seq, readBits / ARGV: 직렬화한 알림, maxSize, ring
+     * seq 키가 없던 기존 목록은 현재 길이를 seq 시작값으로 삼는다.
+     * 새 seq 위치의 비트는 이전 바퀴의 읽음 표시이므로 지운다.
+     */
+    private static final RedisScript<Long> PUSH_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[2]) == 0 then\n"
+          + "  redis.call('SET', KEYS[2], redis.call('LLEN', KEYS[1]))\n"
+          + "end\n"
+          + "local seq = redis.call('INCR', KEYS[2])\n"
+          + "redis.call('LPUSH', KEYS[1], ARGV[1])\n"
+          + "redis.call('LTRIM', KEYS[1], 0, tonumber(ARGV[2]) - 1)\n"
+          + "redis.call('SETBIT', KEYS[3], seq % tonumber(ARGV[3]), 0)\n"
+          + "return seq",
+            Long.class);
+
+    /**
+     * 알림 읽기 - {다음 커서, seq1, 읽음1, 알림1, seq2, 읽음2, 알림2, ...}
+     * KEYS: list, seq, readWatermark, readBits, legacyReadSet
+     * ARGV: ring, cursor(이 seq 미만부터, 0이면 처음), limit, maxScan, unreadOnly(1/0), after(이 seq 초과까지만, 0이면 끝까지)
+     * 읽은 알림을 건너뛰더라도 최대 maxScan건까지만 살펴본다.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ_SCRIPT = new DefaultRedisScript<>(
+            PRELUDE
+          + "local cursor = tonumber(ARGV[2]) or 0\n"
+          + "local limit = tonumber(ARGV[3])\n"
+          + "local maxScan = tonumber(ARGV[4])\n"
+          + "local unreadOnly = ARGV[5] == '1'\n"
+          + "local after = tonumber(ARGV[6]) or 0\n"
+          + "local stop = len\n"
+          + "if after > 0 and head - after < stop then stop = head - after end\n"
+          + "local index = 0\n"
+          + "if cursor > 0 then index = head - cursor + 1 end\n"
+          + "local result = {0}\n"
+          + "local found, scanned = 0, 0\n"
+          + "local last = -1\n"
+          + "while found < limit and scanned < maxScan and index < stop do\n"
+          + "  local chunk = math.min(limit - found, maxScan - scanned, stop - index)\n"
+          + "  local items = redis.call('LRANGE', KEYS[1], index, index + chunk - 1)\n"
+          + "  if #items == 0 then break end\n"
+          + "  for i = 1, #items do\n"
+          + "    local seq = head - index\n"
+          + "    local read = 1\n"
+          + "    if seq > wm then read = redis.call('GETBIT', KEYS[4], seq % ring) end\n"
+          + "    if read == 0 or not unreadOnly then\n"
+          + "      table.insert(result, seq)\n"
+          + "      table.insert(result, read)\n"
+          + "      table.insert(result, items[i])\n"
+          + "      found = found + 1\n"
+          + "    end\n"
+          + "    last = seq\n"
+          + "    index = index + 1\n"
+          + "    scanned = scanned + 1\n"
+          + "    if found >= limit or scanned >= maxScan then break end\n"
+          + "  end\n"
+          + "end\n"
+          + "if index < stop and last > 0 then result[1] = last end\n"
+          + "return result",
+            List.class);
+
+    /**
+     * 알림 1건 읽음 처리 - 처리했으면 1, 목록에 없으면 0
+     * KEYS: list, seq, readWatermark, readBits, legacyReadSet
+     * ARGV: ring, seq(0이면 id로 찾기), id 문자열(JSON 알림 비교용), id 8바이트(바이너리 알림 비교용)
+     * 목록에서 밀려난 알림은 워터마크 아래로 간주하고, 워터마크 바로 위부터 연속으로 읽은 구간은
+     * 워터마크로 흡수해 비트를 비운다.
+     */
+    private static final RedisScript<Long> MARK_SCRIPT = new DefaultRedisScript<>(
+            PRELUDE
+          + "local target = tonumber(ARGV[2]) or 0\n"
+          + "if target <= 0 and ARGV[3] ~= '' then\n"
+          + "  local items = redis.call('LRANGE', KEYS[1], 0, -1)\n"
+          + "  for i = 1, #items do\n"
+          + "    local matched\n"
+          + "    if isJson(items[i]) then\n"
+          + "      local ok, decoded = pcall(cjson.decode, items[i])\n"
+          + "      matched = ok and idOf(decoded) == ARGV[3]\n"
+          + "    else\n"
+          + "      matched = string.sub(items[i], 2, 9) == ARGV[4]\n"
+          + "    end\n"
+          + "    if matched then\n"
+          + "      target = head - i + 1\n"
+          + "      break\n"
+          + "    end\n"
+          + "  end\n"
+          + "end\n"
+          + "if target <= head - len or target > head then return 0 end\n"
+          + "if wm < head - len then wm = head - len end\n"
+          + "if target > wm then\n"
+          + "  redis.call('SETBIT', KEYS[4], target % ring, 1)\n"
+          + "  while wm < head and redis.call('GETBIT', KEYS[4], (wm + 1) % ring) == 1 do\n"
+          + "    wm = wm + 1\n"
+          + "    redis.call('SETBIT', KEYS[4], wm % ring, 0)\n"
+          + "  end\n"
+          + "end\n"
+          + "redis.call('SET', KEYS[3], wm)\n"
+          + "return 1",
+            Long.class);
+
+    /**
+     * 모두 읽음 처리 - 워터마크를 맨 앞 seq로 올린다 (목록 크기와 무관하게 O(1))
+     * KEYS: list, seq, readWatermark, readBits, legacyReadSet / ARGV: ring
+     */
+    private static final RedisScript<Long> MARK_ALL_SCRIPT = new DefaultRedisScript<>(
+            "local len = redis.call('LLEN', KEYS[1])\n"
+          + "local head = tonumber(redis.call('GET', KEYS[2]) or '0')\n"
+          + "if head < len then head = len end\n"
+          + "redis.call('SET', KEYS[3], head)\n"
+          + "redis.call('UNLINK', KEYS[5])\n"
+          + "return head",
+            Long.class);
+
+    // 스크립트 인자/결과 변환 (알림은 바이너리일 수 있으므로 문자열로 바꾸지 않는다)
+    private static final RedisElementWriter<Object> ARGS_WRITER = value -> ByteBuffer.wrap(value instanceof byte[]
+            ? (byte[]) value
+            : String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+    private static final RedisElementReader<byte[]> BYTES_READER = RedisElementReader.from(RedisSerializer.byteArray());
+
+    private final ReactiveRedisTemplate<String, String> redisStringTemplate;
+    private final NotificationCodecs notificationCodec;
+
+    // 사용자별 보관할 최대 알림 수
+    @Value("${notification.inbox.max-size:100}")
+    private int maxSize;
+
+    // 한 번 조회 시 살펴볼 최대 알림 수 (읽은 알림을 건너뛰는 비용 상한)
+    @Value("${notification.inbox.max-scan:200}")
+    private int maxScan;
+
+    // 읽음 비트맵 크기 (비트) - 목록 최대 크기 이상, 8의 배수
+    private int ringBits;
+
+    public NotificationInbox(@Qualifier("reactiveStringRedisTemplate") ReactiveRedisTemplate<String, String> redisStringTemplate,
+                             NotificationCodecs notificationCodec) {
+        this.redisStringTemplate = redisStringTemplate;
+        this.notificationCodec = notificationCodec;
+    }
+
+    @PostConstruct
+    public void init() {
+        ringBits = Math.max(MIN_RING_BITS, (maxSize + 7) / 8 * 8);
+    }
+
+    /**
+     * 알림함에 넣고 seq 반환
+     */
+    public Mono<Long> push(NotificationDTO notification) {
+        byte[] encoded;
+        try {
+            encoded = notificationCodec.encode(notification);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+        String userId = notification.getUserId();
+        return execute(PUSH_SCRIPT, List.of(listKey(userId), seqKey(userId), readBitsKey(userId)),
+                        List.of(encoded, maxSize, ringBits))
+                .next();
+    }
+
+    /**
+     * 알림함 조회 (cursor 이전 알림부터 최대 limit건)
+     */
+    public Mono<NotificationPage> read(String userId, Long cursor, int limit, boolean unreadOnly) {
+        return read(userId, cursor, limit, unreadOnly, 0L);
+    }
+
+    /**
+     * afterSeq 이후에 들어온 알림을 오래된 순으로 조회 (SSE 재연결 시 놓친 알림 재전송)
+     * 목록에서 이미 밀려난 알림은 돌려주지 않는다.
+     */
+    public Mono<List<NotificationDTO>> readSince(String userId, long afterSeq) {
+        return read(userId, null, maxSize, false, afterSeq)
+                .map(page -> {
+                    List<NotificationDTO> notifications = new ArrayList<>(page.getNotifications());
+                    Collections.reverse(notifications);
+                    return notifications;
+                });
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Mono<NotificationPage> read(String userId, Long cursor, int limit, boolean unreadOnly, long afterSeq) {
+        List<Object> args = List.of(
+                ringBits,
+                cursor != null ? cursor : 0L,
+                limit,
+                Math.max(maxScan, limit),
+                unreadOnly ? 1 : 0,
+                afterSeq);
+
+        return execute(READ_SCRIPT, readStateKeys(userId), args)
+                .next()
+                .map(result -> toPage((List) result))
+                .defaultIfEmpty(new NotificationPage(new ArrayList<>(), null));
+    }
+
+    /**
+     * 알림 1건 읽음 처리 (seq가 없으면 알림 ID로 목록에서 찾는다)
+     * 목록에 남아 있는 알림이면 true
+     */
+    public Mono<Boolean> markRead(String userId, Long seq, Long notificationId) {
+        List<Object> args = List.of(
+                ringBits,
+                seq != null ? seq : 0L,
+                notificationId != null ? notificationId.toString() : "",
+                notificationId != null ? BinaryNotificationCodec.idBytes(notificationId) : new byte[0]);
+        return execute(MARK_SCRIPT, readStateKeys(userId), args)
+                .next()
+                .map(result -> result == 1L)
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * 모두 읽음 처리 - 읽음 처리된 맨 앞 seq 반환
+     */
+    public Mono<Long> markAllRead(String userId) {
+        return execute(MARK_ALL_SCRIPT, readStateKeys(userId), List.of(ringBits))
+                .next()
+                .defaultIfEmpty(0L);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private NotificationPage toPage(List result) {
+        List<NotificationDTO> notifications = new ArrayList<>();
+        for (int i = 1; i + 2 < result.size(); i += 3) {
+            long seq = toLong(result.get(i));
+            boolean read = toLong(result.get(i + 1)) == 1L;
+            try {
+                NotificationDTO notification = notificationCodec.decode((byte[]) result.get(i + 2));
+                notification.setSeq(seq);
+                notification.setRead(read);
+                notifications.add(notification);
+            } catch (IllegalArgumentException e) {
+                log.warn("알림 역직렬화 실패: seq={}, {}", seq, e.getMessage());
+            }
+        }
+        long next = result.isEmpty() ? 0L : toLong(result.get(0));
+        return new NotificationPage(notifications, next > 0 ? next : null);
+    }
+
+    /**
+     * 스크립트 실행 - 인자는 byte[]는 그대로, 나머지는 문자열로 보내고 결과 문자열은 byte[]로 받는다
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private <T> Flux<T> execute(RedisScript<T> script, List<String> keys, List<?> args) {
+        return redisStringTemplate.execute(script, keys, args, ARGS_WRITER, (RedisElementReader) BYTES_READER);
+    }
+
+    private static long toLong(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof byte[]) {
+            return Long.parseLong(new String((byte[]) value, StandardCharsets.UTF_8));
+        }
+        return Long.parseLong(String.valueOf(value));
+    }
+
+    static String listKey(String userId) {
+        return "notifications:" + userId;
+    }
+
+    static String seqKey(String userId) {
+        return "notifications:seq:" + userId;
+    }
+
+    static String readWatermarkKey(String userId) {
+        return "notifications:readwm:" + userId;
+    }
+
+    static String readBitsKey(String userId) {
+        return "notifications:readbits:" + userId;
+    }
+
+    /**
+     * 이전 방식의 읽음 세트 (알림 ID 문자열) - 첫 접근 시 비트맵으로 옮기고 삭제
+     */
+    static String legacyReadSetKey(String userId) {
+        return "notifications:read:" + userId;
+    }
+
+    private static List<String> readStateKeys(String userId) {
+        return List.of(listKey(userId), seqKey(userId), readWatermarkKey(userId),
+                readBitsKey(userId), legacyReadSetKey(userId));
+    }
+}
@@ -0,0 +1,206 @@
+package com.br.brlog.notification.service;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.stereotype.Component;
+
+import com.br.brlog.config.NotificationProducerProperties;
+import com.br.brlog.notification.dto.NotificationDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+import reactor.util.retry.Retry;
+
+/**
+ * 알림 Kafka 전송 파이프라인
+ * 알림마다 send()를 따로 호출하지 않고, 하나의 긴 Flux를 KafkaSender.send에 물려 프로듀서 배치를 함께 쓴다.
+ * - 전송 요청은 대기열(queue-size)에 쌓이고, 완료 대기 레코드는 max-in-flight건으로 제한
+ * - 레코드 단위 실패는 해당 요청만 실패 처리하고 파이프라인은 계속 동작
+ * - 대기열이 가득 차면 sink를 종료시키지 않고 해당 요청만 거절하며, 파이프라인이 재시작되면
+ *   프로듀서에 넘겼지만 결과를 받지 못한 요청은 실패 처리한다
+ * - 종료 시 대기열을 닫고 남은 알림이 전송될 때까지 shutdown-timeout-ms만큼 기다린다
+ */
+@Slf4j
+@Component
+public class NotificationPublisher {
+
+    // 종료 시 complete emit 충돌 재시도 시간
+    private static final Duration EMIT_RETRY = Duration.ofMillis(50);
+
+    private final KafkaSender<String, NotificationDTO> kafkaSender;
+    private final String notificationTopic;
+    private final Sinks.Many<SenderRecord<String, NotificationDTO, Pending>> queue;
+    private final Duration shutdownTimeout;
+
+    // 파이프라인이 끝나면(대기열 complete 후 남은 전송 완료) 완료
+    private final Sinks.Empty<Void> terminated = Sinks.empty();
+
+    // 프로듀서에 넘겼고 아직 결과를 받지 못한 요청 (파이프라인 오류 시 실패 처리)
+    private final Set<Pending> outstanding = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Timer latency;
+
+    private Disposable pipeline;
+
+    public NotificationPublisher(KafkaSender<String, NotificationDTO> kafkaSender,
+                                 String notificationTopic,
+                                 NotificationProducerProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.kafkaSender = kafkaSender;
+        this.notificationTopic = notificationTopic;
+        // 파이프라인 재시작 시 다시 구독할 수 있도록 autoCancel 없이 생성
+        this.queue = Sinks.many().multicast().onBackpressureBuffer(properties.getQueueSize(), false);
+        this.shutdownTimeout = Duration.ofMillis(properties.getShutdownTimeoutMs());
+
+        Gauge.builder("notification.producer.in-flight", inFlight, AtomicInteger::get)
+                .description("전송 완료를 기다리는 알림 수")
+                .register(meterRegistry);
+        this.sent = Counter.builder("notification.producer.sent")
+                .description("Kafka 전송에 성공한 알림 수")
+                .register(meterRegistry);
+        this.failed = Counter.builder("notification.producer.failed")
+                .description("Kafka 전송에 실패한 알림 수")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("notification.producer.rejected")
+                .description("대기열이 가득 차 거절된 알림 수")
+                .register(meterRegistry);
+        this.latency = Timer.builder("notification.producer.latency")
+                .description("전송 요청부터 브로커 확인까지 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        pipeline = kafkaSender.send(queue.asFlux()
+                        // 이전 파이프라인 오류로 이미 실패 처리된 요청은 보내지 않음
+                        .filter(record -> !record.correlationMetadata().isDone())
+                        .doOnNext(record -> outstanding.add(record.correlationMetadata())))
+                .doOnNext(this::complete)
+                .doOnError(this::failOutstanding)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("알림 전송 파이프라인 재시작: {}", signal.failure().getMessage())))
+                .doFinally(signal -> terminated.tryEmitEmpty())
+                .subscribe();
+    }
+
+    /**
+     * 종료 시 대기열에 남은 알림까지 보내고 정리 (shutdown-timeout-ms 안에 끝나지 않으면 남은 요청은 실패 처리)
+     */
+    @PreDestroy
+    public void stop() {
+        synchronized (queue) {
+            queue.emitComplete(Sinks.EmitFailureHandler.busyLooping(EMIT_RETRY));
+        }
+        if (pipeline == null) {
+            return;
+        }
+        try {
+            terminated.asMono().block(shutdownTimeout);
+        } catch (IllegalStateException e) {
+            log.warn("알림 전송 파이프라인 종료 대기 시간 초과 ({}ms), 전송 중 {}건", shutdownTimeout.toMillis(), inFlight.get());
+        }
+        pipeline.dispose();
+        failOutstanding(new IllegalStateException("알림 전송 파이프라인이 종료되었습니다"));
+    }
+
+    /**
+     * 알림 전송 (브로커가 확인하면 완료)
+     */
+    public Mono<Void> send(NotificationDTO notification) {
+        return Mono.create(sink -> {
+            ProducerRecord<String, NotificationDTO> record =
+                    new ProducerRecord<>(notificationTopic, notification.getUserId(), notification);
+            Pending pending = new Pending(sink, System.nanoTime());
+            inFlight.incrementAndGet();
+
+            // emitNext는 대기열이 가득 차면 sink 자체를 오류로 종료시키므로 tryEmitNext로 결과를 직접 처리
+            // 동시 emit은 FAIL_NON_SERIALIZED가 되므로 emit 자체를 직렬화한다
+            Sinks.EmitResult result;
+            synchronized (queue) {
+                result = queue.tryEmitNext(SenderRecord.create(record, pending));
+            }
+            if (result.isFailure() && pending.finish()) {
+                inFlight.decrementAndGet();
+                rejected.increment();
+                String reason = result == Sinks.EmitResult.FAIL_OVERFLOW
+                        ? "알림 전송 대기열이 가득 찼습니다"
+                        : "알림 전송 파이프라인을 사용할 수 없습니다: " + result;
+                sink.error(new IllegalStateException(reason));
+            }
+        });
+    }
+
+    private void complete(SenderResult<Pending> result) {
+        Pending pending = result.correlationMetadata();
+        outstanding.remove(pending);
+        if (!pending.finish()) {
+            return;
+        }
+        inFlight.decrementAndGet();
+        latency.record(System.nanoTime() - pending.startedAt, TimeUnit.NANOSECONDS);
+        if (result.exception() != null) {
+            failed.increment();
+            pending.sink.error(result.exception());
+        } else {
+            sent.increment();
+            pending.sink.success();
+        }
+    }
+
+    /**
+     * 파이프라인 오류 시 결과를 받지 못한 요청 실패 처리 (대기열에 남은 요청은 재시작 후 전송)
+     */
+    private void failOutstanding(Throwable error) {
+        for (Pending pending : outstanding) {
+            outstanding.remove(pending);
+            if (pending.finish()) {
+                inFlight.decrementAndGet();
+                failed.increment();
+                pending.sink.error(error);
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final MonoSink<Void> sink;
+        private final long startedAt;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Pending(MonoSink<Void> sink, long startedAt) {
+            this.sink = sink;
+            this.startedAt = startedAt;
+        }
+
+        // 처음 한 번만 true (완료/실패/거절 중 하나만 반영)
+        private boolean finish() {
+            return done.compareAndSet(false, true);
+        }
+
+        private boolean isDone() {
+            return done.get();
+        }
+    }
+}
@@ -1,14 +1,15 @@
 package com.br.brlog.notification.service;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
 
-import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import com.br.brlog.common.id.SnowflakeIdGenerator;
 import com.br.brlog.notification.dto.NotificationDTO;
 import com.br.brlog.notification.dto.NotificationDTO.NotificationType;
+import com.br.brlog.notification.dto.NotificationPage;
 import com.br.brlog.post.dto.CommentDTO;
 import com.br.brlog.post.dto.PostDTO;
 import com.br.brlog.user.dto.UserDTO;
@@ -16,29 +17,24 @@ import com.br.brlog.user.service.UserService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
-import reactor.core.publisher.Sinks.Many;
-import reactor.kafka.sender.KafkaSender;
-import reactor.kafka.sender.SenderRecord;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
-    private final KafkaSender<String, NotificationDTO> kafkaSender;
-    private final String notificationTopic;
+    private final NotificationPublisher notificationPublisher;
     private final UserService userService;
     
-    // 실시간 알림 브로드캐스팅을 위한 Sinks 사용
-    private final Many<NotificationDTO> notificationSink = Sinks.many().replay().latest();
-    
-    // Redis에 최근 알림 저장
-    private final ReactiveRedisTemplate<String, NotificationDTO> redisTemplate;
-    
-    private final ReactiveRedisTemplate<String, String> redisStringTemplate;
+    // 사용자별 실시간 알림 구독 관리
+    private final NotificationSubscriptionRegistry subscriptionRegistry;
+    private final NotificationConsumer notificationConsumer;
+    private final NotificationInbox notificationInbox;
+    private final SnowflakeIdGenerator idGenerator;
+    private final NotificationCoalescer notificationCoalescer;
     
     /**
      * 게시글 작성자에게 댓글 알림 전송
@@ -51,9 +47,8 @@ public class NotificationService {
         
         String postAuthorId = post.getUserId();
         
-        long tempId = System.currentTimeMillis();
         NotificationDTO notification = NotificationDTO.builder()
-        		.id(tempId)
+        		.id(idGenerator.nextId())
                 .userId(postAuthorId)
                 .senderUserId(comment.getUserId())
                 .senderUserNm(commenter.getUserNm())
@@ -66,26 +61,29 @@ public class NotificationService {
                 .createdAt(LocalDateTime.now())
                 .build();
         
-        // 프로듀서 레코드 생성
-        ProducerRecord<String, NotificationDTO> record = 
-                new ProducerRecord<>(notificationTopic, postAuthorId, notification);
-                
-        // Kafka로 전송
-        return kafkaSender.send(Mono.just(SenderRecord.create(record, notification.getUserId())))
-                .doOnNext(result -> {
+        // 같은 게시글에 몰리는 댓글 알림은 묶어서 전송
+        return Mono.fromRunnable(() -> notificationCoalescer.offer(notification, this::deliver));
+    }
+    
+    /**
+     * 알림함에 저장한 뒤 Kafka 전송
+     * 알림함 seq를 실어 보내 SSE 이벤트 ID로 쓰고, 재연결 시 그 이후 알림만 다시 보낼 수 있게 한다.
+     */
+    private Mono<Void> deliver(NotificationDTO notification) {
+        // 알림함에 저장 (넣기와 최근 N건 정리를 한 번에)
+        return notificationInbox.push(notification)
+                .doOnNext(notification::setSeq)
+                .doOnError(error -> log.error("알림함 저장 실패: {}", error.getMessage()))
+                .onErrorResume(error -> Mono.empty())
+                // 공용 전송 파이프라인으로 Kafka 전송 (다른 알림과 프로듀서 배치를 함께 씀)
+                .then(Mono.defer(() -> notificationPublisher.send(notification)))
+                .doOnSuccess(v -> {
                     log.info("알림 전송 완료: {}", notification);
-                    // 실시간 업데이트를 위해 sink로도 브로드캐스팅
-                    notificationSink.tryEmitNext(notification);
-                    
-                    // Redis가 사용 가능한 경우 저장
-                    if (redisTemplate != null) {
-                        String key = "notifications:" + notification.getUserId();
-                        redisTemplate.opsForList().leftPush(key, notification).subscribe();
-                        // 리스트를 최근 100개만 유지하도록 정리
-                        redisTemplate.opsForList().trim(key, 0, 99).subscribe();
+                    // 실시간 전달은 각 노드의 컨슈머가 담당 (컨슈머 비활성화 시에만 이 노드에서 직접 전달)
+                    if (!notificationConsumer.isEnabled()) {
+                        subscriptionRegistry.publish(notification);
                     }
-                })
-                .then();
+                });
     }
     
     /**
@@ -100,70 +98,69 @@ public class NotificationService {
     
     /**
      * 특정 사용자를 위한 알림 스트림 가져오기
+     * lastSeq(마지막으로 받은 이벤트 ID)를 주면 그 이후 알림함에 쌓인 알림을 먼저 보내고 실시간 알림을 이어 보낸다.
+     * 재전송 중 도착한 실시간 알림은 버퍼에 두었다가, 이미 재전송한 seq는 건너뛴다.
      */
-    public Flux<NotificationDTO> getNotificationsForUser(String userId) {
-        return notificationSink.asFlux()
-                .filter(notification -> notification.getUserId().equals(userId));
+    public Flux<NotificationDTO> getNotificationsForUser(String userId, Long lastSeq) {
+        if (lastSeq == null || lastSeq <= 0) {
+            return subscriptionRegistry.subscribe(userId);
+        }
+
+        return Flux.defer(() -> {
+            // 재전송 조회 전에 실시간 구독을 먼저 연결해 그 사이 알림을 놓치지 않는다
+            Disposable[] connection = new Disposable[1];
+            Flux<NotificationDTO> live = subscriptionRegistry.subscribe(userId)
+                    .publish()
+                    .autoConnect(0, disposable -> connection[0] = disposable);
+            AtomicLong replayedUpTo = new AtomicLong(lastSeq);
+
+            Flux<NotificationDTO> replay = notificationInbox.readSince(userId, lastSeq)
+                    .flatMapIterable(notifications -> notifications)
+                    .doOnNext(notification -> replayedUpTo.accumulateAndGet(notification.getSeq(), Math::max))
+                    .onErrorResume(error -> {
+                        log.warn("놓친 알림 재전송 실패: userId={}, {}", userId, error.getMessage());
+                        return Flux.empty();
+                    });
+
+            return Flux.concat(replay,
+                            live.filter(notification -> notification.getSeq() == null
+                                    || notification.getSeq() > replayedUpTo.get()))
+                    .doFinally(signal -> {
+                        if (connection[0] != null) {
+                            connection[0].dispose();
+                        }
+                    });
+        });
     }
     
     /**
-     * 알림을 읽음 상태로 표시 (읽음 세트 사용)
+     * 알림을 읽음 상태로 표시 (seq가 있으면 seq로, 없으면 알림 ID로 찾는다)
      */
-    public Mono<Void> markAsRead(Long notificationId, String userId) {
-        log.info("알림을 읽음으로 표시: userId={}, notificationId={}", userId, notificationId);
-        
-        // 읽은 알림 세트 키
-        String readSetKey = "notifications:read:" + userId;
-        
-        // notificationId를 읽음 세트에 추가
-        return redisStringTemplate.opsForSet().add(readSetKey, notificationId.toString())
-            .then(Mono.empty());
+    public Mono<Void> markAsRead(Long notificationId, Long seq, String userId) {
+        log.info("알림을 읽음으로 표시: userId={}, notificationId={}, seq={}", userId, notificationId, seq);
+        return notificationInbox.markRead(userId, seq, notificationId)
+            .doOnNext(marked -> {
+                if (!marked) {
+                    log.debug("알림함에 없는 알림 읽음 요청 무시: userId={}, notificationId={}", userId, notificationId);
+                }
+            })
+            .then();
     }
 
     /**
-     * 알림이 읽음 상태인지 확인
+     * 모든 알림을 읽음 상태로 표시
      */
-    public Mono<Boolean> isRead(Long notificationId, String userId) {
-        String readSetKey = "notifications:read:" + userId;
-        return redisTemplate.opsForSet().isMember(readSetKey, notificationId.toString());
+    public Mono<Void> markAllAsRead(String userId) {
+        log.info("모든 알림을 읽음으로 표시: userId={}", userId);
+        return notificationInbox.markAllRead(userId).then();
     }
 
     /**
      * Redis에서 최근 알림 가져오기 (읽음 상태 정보 포함)
+     * cursor 이전 알림부터 최대 limit건, Lua 스크립트 1회로 조회한다.
      */
-    public Flux<NotificationDTO> getRecentNotifications(String userId, int limit) {
-    	log.debug("알림 조회 시작: userId={}, limit={}", userId, limit);
-        
-        if (redisTemplate == null) {
-            log.warn("Redis 템플릿이 null입니다");
-            return Flux.empty();
-        }
-        
-        String key = "notifications:" + userId;
-        String readSetKey = "notifications:read:" + userId;
-        
-        // 읽음 상태 세트 디버깅
-        redisStringTemplate.opsForSet().members(readSetKey)
-            .collectList()
-            .subscribe(
-                readIds -> log.debug("읽음 상태 목록: userId={}, readIds={}", userId, readIds),
-                error -> log.error("읽음 상태 조회 오류: {}", error.getMessage())
-            );
-        
-        // 읽지 않은 알림만 필터링
-        return redisTemplate.opsForList().range(key, 0, -1)  // 모든 알림 가져오기
-            .flatMap(notification -> {
-                if (notification.getId() != null) {
-                    return redisStringTemplate.opsForSet().isMember(readSetKey, notification.getId().toString())
-                        .flatMap(isRead -> {
-                            notification.setRead(isRead);
-                            // 읽지 않은 알림만 반환
-                            return isRead ? Mono.empty() : Mono.just(notification);
-                        });
-                }
-                return Mono.just(notification);
-            })
-            .take(limit)  // limit 개수만큼만 가져오기
-            .doOnComplete(() -> log.debug("읽지 않은 알림 조회 완료: userId={}", userId));
+    public Mono<NotificationPage> getRecentNotifications(String userId, Long cursor, int limit, boolean unreadOnly) {
+        log.debug("알림 조회 시작: userId={}, cursor={}, limit={}", userId, cursor, limit);
+        return notificationInbox.read(userId, cursor, limit, unreadOnly);
     }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.br.brlog.notification.service;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.br.brlog.notification.dto.NotificationDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * 사용자별 실시간 알림 구독 관리
+ * userId마다 멀티캐스트 Sink를 두어 알림 1건은 해당 사용자의 연결에만 전달한다 (O(1) 조회).
+ * 연결마다 버퍼 크기를 제한하고, 느린 클라이언트는 오래된 알림부터 버린다.
+ * 마지막 연결이 끊기면 사용자 채널을 제거한다.
+ */
+@Slf4j
+@Component
+public class NotificationSubscriptionRegistry {
+
+    // 동시 emit 충돌 시 재시도 시간
+    private static final Duration EMIT_RETRY = Duration.ofMillis(50);
+
+    private final ConcurrentHashMap<String, UserChannel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private final Counter dropped;
+    private final Counter published;
+
+    // 연결당 보관할 최대 미전송 알림 수
+    @Value("${notification.stream.buffer-size:256}")
+    private int bufferSize;
+
+    public NotificationSubscriptionRegistry(MeterRegistry meterRegistry) {
+        Gauge.builder("notification.stream.users", channels, ConcurrentHashMap::size)
+                .description("실시간 알림 구독 중인 사용자 수")
+                .register(meterRegistry);
+        Gauge.builder("notification.stream.connections", connections, AtomicInteger::get)
+                .description("실시간 알림 연결 수")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("notification.stream.dropped")
+                .description("버퍼 초과로 버려진 알림 수")
+                .register(meterRegistry);
+        this.published = Counter.builder("notification.stream.published")
+                .description("로컬 구독자에게 전달된 알림 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사용자 알림 구독 (구독 시점 이후의 알림만 전달)
+     */
+    public Flux<NotificationDTO> subscribe(String userId) {
+        return Flux.defer(() -> {
+            UserChannel channel = channels.compute(userId, (key, existing) -> {
+                UserChannel target = existing != null ? existing : new UserChannel();
+                target.subscribers.incrementAndGet();
+                return target;
+            });
+            connections.incrementAndGet();
+
+            return channel.sink.asFlux()
+                    .onBackpressureBuffer(bufferSize, notification -> dropped.increment(),
+                            BufferOverflowStrategy.DROP_OLDEST)
+                    .doFinally(signal -> release(userId, channel));
+        });
+    }
+
+    /**
+     * 로컬 구독자에게 알림 전달 (구독자가 없으면 무시)
+     */
+    public void publish(NotificationDTO notification) {
+        UserChannel channel = channels.get(notification.getUserId());
+        if (channel == null) {
+            return;
+        }
+        channel.sink.emitNext(notification, Sinks.EmitFailureHandler.busyLooping(EMIT_RETRY));
+        published.increment();
+    }
+
+    /**
+     * 사용자의 로컬 연결 여부
+     */
+    public boolean hasSubscribers(String userId) {
+        return channels.containsKey(userId);
+    }
+
+    private void release(String userId, UserChannel channel) {
+        connections.decrementAndGet();
+        channels.computeIfPresent(userId, (key, existing) -> {
+            if (existing != channel) {
+                return existing;
+            }
+            return existing.subscribers.decrementAndGet() <= 0 ? null : existing;
+        });
+    }
+
+    private static class UserChannel {
+        // 구독자가 요청한 만큼만 보내고 나머지는 연결별 버퍼에서 처리
+        private final Sinks.Many<NotificationDTO> sink = Sinks.many().multicast().directBestEffort();
+        private final AtomicInteger subscribers = new AtomicInteger();
+    }
+}
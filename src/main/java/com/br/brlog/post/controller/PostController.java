@@ -2,7 +2,10 @@ package com.br.brlog.post.controller;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,11 +14,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.br.brlog.common.ResponseCode;
 import com.br.brlog.common.dto.ResponseDTO;
+import com.br.brlog.post.dto.CategoryCatalog;
 import com.br.brlog.post.dto.CategoryDTO;
 import com.br.brlog.post.dto.CommentDTO;
 import com.br.brlog.post.dto.ContributorDTO;
@@ -34,6 +40,7 @@ public class PostController {
     
     /**
      * 게시글 목록 조회
+     * cursor 파라미터가 있으면 keyset 페이징(첫 페이지는 빈 값), 없으면 기존 offset 페이징
      */
     @SuppressWarnings({"rawtypes", "unchecked"})
     @GetMapping("/list")
@@ -41,12 +48,23 @@ public class PostController {
             @RequestParam(required = false, name = "categoryId") String categoryId,
             @RequestParam(defaultValue = "0", name = "offset") int offset,
             @RequestParam(defaultValue = "10", name = "size") int size,
-            @RequestParam(defaultValue = "regDt DESC", name = "sortBy") String sortBy) throws Exception {
+            @RequestParam(defaultValue = "regDt DESC", name = "sortBy") String sortBy,
+            @RequestParam(required = false, name = "cursor") String cursor) throws Exception {
         
-        ResponseDTO responseDTO = ResponseDTO.from(
-                postService.getPosts(categoryId, offset, size, sortBy));
+        if (cursor != null && size < 1) {
+            return ResponseEntity.badRequest().body(ResponseDTO.of(null, ResponseCode.ERROR_INVALID_PARAMETER));
+        }
         
-        return ResponseEntity.ok(responseDTO);
+        try {
+            ResponseDTO responseDTO = ResponseDTO.from(cursor == null
+                    ? postService.getPosts(categoryId, offset, size, sortBy)
+                    : postService.getPostsByCursor(categoryId, cursor, size, sortBy));
+            return ResponseEntity.ok(responseDTO);
+        } catch (IllegalArgumentException e) {
+            ResponseDTO responseDTO = ResponseDTO.of(null, ResponseCode.ERROR_INVALID_PARAMETER);
+            responseDTO.setDetail(e.getMessage());
+            return ResponseEntity.badRequest().body(responseDTO);
+        }
     }
     
     /**
@@ -170,19 +188,58 @@ public class PostController {
      */
     @SuppressWarnings({"rawtypes", "unchecked"})
     @GetMapping("/categories")
-    public ResponseEntity<ResponseDTO<List<CategoryDTO>>> getCategories() throws Exception {
-        ResponseDTO responseDTO = ResponseDTO.from(postService.getCategories());
-        return ResponseEntity.ok(responseDTO);
+    public ResponseEntity<ResponseDTO<List<CategoryDTO>>> getCategories(
+            @RequestHeader(required = false, name = HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) throws Exception {
+        
+        // 메모리 스냅샷에서 바로 응답 (변경이 없으면 304)
+        CategoryCatalog catalog = postService.getCategoryCatalog();
+        if (catalog.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(catalog.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        
+        ResponseDTO responseDTO = ResponseDTO.from(catalog.getCategories());
+        return ResponseEntity.ok()
+                .eTag(catalog.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(responseDTO);
+    }
+    
+    /**
+     * 카테고리 재적재 (관리자, 모든 노드에 전파)
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @PostMapping("/categories/reload")
+    public ResponseEntity<ResponseDTO<List<CategoryDTO>>> reloadCategories() throws Exception {
+        if (!postService.isCurrentUserAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ResponseDTO.of(null, ResponseCode.UNAUTHORIZED));
+        }
+        
+        CategoryCatalog catalog = postService.reloadCategories();
+        ResponseDTO responseDTO = ResponseDTO.from(catalog.getCategories());
+        return ResponseEntity.ok().eTag(catalog.getEtag()).body(responseDTO);
     }
     
     /**
      * 기여자 목록 조회
+     * period: all(전체), weekly(이번 주), monthly(이번 달)
      */
     @SuppressWarnings({"rawtypes", "unchecked"})
     @GetMapping("/contributors")
-    public ResponseEntity<ResponseDTO<List<ContributorDTO>>> getContributors() throws Exception {
-        ResponseDTO responseDTO = ResponseDTO.from(postService.getContributors());
-        return ResponseEntity.ok(responseDTO);
+    public ResponseEntity<ResponseDTO<List<ContributorDTO>>> getContributors(
+            @RequestParam(defaultValue = "5", name = "limit") int limit,
+            @RequestParam(defaultValue = "all", name = "period") String period) throws Exception {
+        
+        try {
+            ResponseDTO responseDTO = ResponseDTO.from(postService.getContributors(period, limit));
+            return ResponseEntity.ok(responseDTO);
+        } catch (IllegalArgumentException e) {
+            ResponseDTO responseDTO = ResponseDTO.of(null, ResponseCode.ERROR_INVALID_PARAMETER);
+            responseDTO.setDetail(e.getMessage());
+            return ResponseEntity.badRequest().body(responseDTO);
+        }
     }
     
     /**
@@ -193,12 +250,28 @@ public class PostController {
     public ResponseEntity<ResponseDTO<Map<String, Object>>> searchPosts(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int offset,
-            @RequestParam(defaultValue = "10") int size) throws Exception {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) throws Exception {
         
-        ResponseDTO responseDTO = ResponseDTO.from(
-                postService.searchPosts(keyword, offset, size));
+        if (cursor == null) {
+            ResponseDTO responseDTO = ResponseDTO.from(
+                    postService.searchPosts(keyword, offset, size));
+            return ResponseEntity.ok(responseDTO);
+        }
         
-        return ResponseEntity.ok(responseDTO);
+        if (size < 1) {
+            return ResponseEntity.badRequest().body(ResponseDTO.of(null, ResponseCode.ERROR_INVALID_PARAMETER));
+        }
+        
+        try {
+            ResponseDTO responseDTO = ResponseDTO.from(
+                    postService.searchPostsByCursor(keyword, cursor, size));
+            return ResponseEntity.ok(responseDTO);
+        } catch (IllegalArgumentException e) {
+            ResponseDTO responseDTO = ResponseDTO.of(null, ResponseCode.ERROR_INVALID_PARAMETER);
+            responseDTO.setDetail(e.getMessage());
+            return ResponseEntity.badRequest().body(responseDTO);
+        }
     }
     
     /**
@@ -215,4 +288,25 @@ public class PostController {
         ResponseDTO responseDTO = ResponseDTO.from(result);
         return ResponseEntity.ok(responseDTO);
     }
-}
\ No newline at end of file
+    
+    /**
+     * 여러 게시글의 좋아요 상태 일괄 확인
+     * userId가 없으면 로그인 사용자 기준, 둘 다 없으면 빈 목록
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @GetMapping("/likes/check")
+    public ResponseEntity<ResponseDTO<Map<String, Set<Long>>>> checkLikeStatuses(
+            @RequestParam(name = "postIds") List<Long> postIds,
+            @RequestParam(required = false, name = "userId") String userId) throws Exception {
+        
+        try {
+            Set<Long> likedPostIds = postService.getLikedPostIds(postIds, userId);
+            ResponseDTO responseDTO = ResponseDTO.from(Map.of("likedPostIds", likedPostIds));
+            return ResponseEntity.ok(responseDTO);
+        } catch (IllegalArgumentException e) {
+            ResponseDTO responseDTO = ResponseDTO.of(null, ResponseCode.ERROR_INVALID_PARAMETER);
+            responseDTO.setDetail(e.getMessage());
+            return ResponseEntity.badRequest().body(responseDTO);
+        }
+    }
+}
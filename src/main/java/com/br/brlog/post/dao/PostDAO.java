@@ -1,5 +1,6 @@
 package com.br.brlog.post.dao;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -11,6 +12,7 @@ import com.br.brlog.post.dto.PostDTO;
 import com.br.brlog.post.dto.CommentDTO;
 import com.br.brlog.post.dto.CategoryDTO;
 import com.br.brlog.post.dto.ContributorDTO;
+import com.br.brlog.post.dto.PostCursor;
 import com.br.brlog.user.dto.UserDTO;
 
 import lombok.RequiredArgsConstructor;
@@ -32,6 +34,18 @@ public class PostDAO {
         return sqlSession.selectList("post.getPosts", params);
     }
 
+    /**
+     * 게시글 목록 조회 (keyset 페이징)
+     */
+    public List<PostDTO> getPostsByCursor(String categoryId, PostCursor cursor, int size, String sortKey) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("categoryId", categoryId);
+        params.put("cursor", cursor);
+        params.put("size", size);
+        params.put("sortKey", sortKey);
+        return sqlSession.selectList("post.getPostsByCursor", params);
+    }
+
     /**
      * 게시글 상세 조회
      */
@@ -54,31 +68,38 @@ public class PostDAO {
     }
 
     /**
-     * 게시글 삭제 (상태 변경)
+     * 게시글 삭제 (상태 변경) - 실제로 삭제 처리된 건수 반환
      */
-    public void deletePost(Long postId) {
-        sqlSession.update("post.deletePost", postId);
+    public int deletePost(Long postId) {
+        return sqlSession.update("post.deletePost", postId);
     }
 
     /**
-     * 게시글 조회수 증가
+     * 카테고리별 활성 게시글 수
      */
-    public void incrementViewCount(Long postId) {
-        sqlSession.update("post.incrementViewCount", postId);
+    public List<Map<String, Object>> countActivePostsByCategory() {
+        return sqlSession.selectList("post.countActivePostsByCategory");
     }
 
     /**
-     * 게시글 좋아요 수 증가
+     * 게시글 상태/카테고리 조회 (건수 재집계 보정용, 삭제된 게시글 포함)
      */
-    public void incrementLikeCount(Long postId) {
-        sqlSession.update("post.incrementLikeCount", postId);
+    public List<PostDTO> getPostStates(List<Long> postIds) {
+        return sqlSession.selectList("post.getPostStates", postIds);
     }
 
     /**
-     * 게시글 좋아요 수 감소
+     * 게시글 조회수 일괄 증가 (postId별 증가분)
      */
-    public void decrementLikeCount(Long postId) {
-        sqlSession.update("post.decrementLikeCount", postId);
+    public void addViewCounts(Map<Long, Long> deltas) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        deltas.forEach((postId, delta) -> {
+            Map<String, Object> item = new HashMap<>();
+            item.put("postId", postId);
+            item.put("delta", delta);
+            items.add(item);
+        });
+        sqlSession.update("post.addViewCounts", items);
     }
 
     /**
@@ -96,33 +117,41 @@ public class PostDAO {
     }
     
     /**
-     * 게시글 좋아요 추가
+     * 게시글 좋아요 사용자 목록
      */
-    public void addLike(Long postId, String userId) {
-        Map<String, Object> params = new HashMap<>();
-        params.put("postId", postId);
-        params.put("userId", userId);
-        sqlSession.insert("post.addLike", params);
+    public List<String> getLikeUserIds(Long postId) {
+        return sqlSession.selectList("post.getLikeUserIds", postId);
     }
 
     /**
-     * 게시글 좋아요 삭제
+     * 게시글 목록 중 사용자가 좋아요한 게시글 ID
      */
-    public void removeLike(Long postId, String userId) {
+    public List<Long> getLikedPostIds(String userId, List<Long> postIds) {
         Map<String, Object> params = new HashMap<>();
-        params.put("postId", postId);
         params.put("userId", userId);
-        sqlSession.delete("post.removeLike", params);
+        params.put("postIds", postIds);
+        return sqlSession.selectList("post.getLikedPostIds", params);
     }
 
     /**
-     * 게시글 좋아요 여부 확인
+     * 게시글 좋아요 일괄 추가 (이미 있으면 무시)
      */
-    public boolean checkLike(Long postId, String userId) {
-        Map<String, Object> params = new HashMap<>();
-        params.put("postId", postId);
-        params.put("userId", userId);
-        return sqlSession.selectOne("post.checkLike", params);
+    public void insertLikes(List<Map<String, Object>> likes) {
+        sqlSession.insert("post.insertLikes", likes);
+    }
+
+    /**
+     * 게시글 좋아요 일괄 삭제
+     */
+    public void deleteLikes(List<Map<String, Object>> likes) {
+        sqlSession.delete("post.deleteLikes", likes);
+    }
+
+    /**
+     * 게시글 좋아요 수를 D_LIKE 기준으로 재계산
+     */
+    public void syncLikeCounts(List<Long> postIds) {
+        sqlSession.update("post.syncLikeCounts", postIds);
     }
 
     /**
@@ -174,8 +203,27 @@ public class PostDAO {
     /**
      * 기여자 목록 조회
      */
-    public List<ContributorDTO> getContributors() {
-        return sqlSession.selectList("post.getContributors");
+    public List<ContributorDTO> getContributors(String since, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("since", since);
+        params.put("limit", limit);
+        return sqlSession.selectList("post.getContributors", params);
+    }
+
+    /**
+     * 기여자 프로필 조회 (순위표 표시용)
+     */
+    public List<ContributorDTO> getContributorProfiles(List<String> userIds) {
+        return sqlSession.selectList("post.getContributorProfiles", userIds);
+    }
+
+    /**
+     * 작성자별 활성 게시글 수 (since 이후 등록분, null이면 전체)
+     */
+    public List<Map<String, Object>> countPostsByAuthor(String since) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("since", since);
+        return sqlSession.selectList("post.countPostsByAuthor", params);
     }
 
     /**
@@ -190,21 +238,57 @@ public class PostDAO {
     }
 
     /**
-     * 작성자 정보 조회
+     * 게시글 검색 (keyset 페이징)
      */
-    public UserDTO getAuthor(String userId) {
-        return sqlSession.selectOne("post.getAuthor", userId);
+    public List<PostDTO> searchPostsByCursor(String keyword, PostCursor cursor, int size) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("keyword", keyword);
+        params.put("cursor", cursor);
+        params.put("size", size);
+        return sqlSession.selectList("post.searchPostsByCursor", params);
     }
-    
+
     /**
-     * 게시글 좋아요 상태 확인
+     * 검색 결과 건수 (limit건까지만 센다)
      */
-    public boolean checkLikeStatus(Long postId, String userId) {
+    public long countSearchPostsUpTo(String keyword, int limit) {
         Map<String, Object> params = new HashMap<>();
-        params.put("postId", postId);
-        params.put("userId", userId);
-        
-        Integer count = sqlSession.selectOne("post.checkLikeStatus", params);
-        return count != null && count > 0;
+        params.put("keyword", keyword);
+        params.put("limit", limit);
+        Long count = sqlSession.selectOne("post.countSearchPostsUpTo", params);
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * ID 목록으로 게시글 조회 (검색 결과용, 순서는 보장하지 않음)
+     */
+    public List<PostDTO> getPostsByIds(List<Long> postIds) {
+        return sqlSession.selectList("post.getPostsByIds", postIds);
+    }
+
+    /**
+     * 검색 색인용 게시글 조회 (POST_ID 기준 keyset 페이징, afterPostId가 없으면 처음부터)
+     * since가 없으면 활성 게시글 전체, 있으면 그 이후 변경된 게시글(삭제 포함)
+     */
+    public List<PostDTO> scanPostsForIndex(String since, Long afterPostId, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("since", since);
+        params.put("afterPostId", afterPostId);
+        params.put("limit", limit);
+        return sqlSession.selectList("post.scanPostsForIndex", params);
+    }
+
+    /**
+     * 검색 색인용 게시글 단건 조회 (삭제된 게시글 포함)
+     */
+    public PostDTO getPostForIndex(Long postId) {
+        return sqlSession.selectOne("post.getPostForIndex", postId);
+    }
+
+    /**
+     * 작성자 정보 조회
+     */
+    public UserDTO getAuthor(String userId) {
+        return sqlSession.selectOne("post.getAuthor", userId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package com.br.brlog.post.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.BeanUtils;
+
+import lombok.Getter;
+
+/**
+ * 카테고리 목록 스냅샷 (생성 후 변경하지 않음)
+ * 재적재 시 새 스냅샷을 만들어 통째로 교체하며, 내용 해시를 ETag로 쓴다.
+ * CategoryDTO는 변경 가능하므로 목록은 항상 복사본으로 내보낸다.
+ */
+public final class CategoryCatalog {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private final List<CategoryDTO> categories;
+    private final Map<String, CategoryDTO> byId;
+    @Getter
+    private final String etag;
+
+    public CategoryCatalog(List<CategoryDTO> source) {
+        List<CategoryDTO> copies = new ArrayList<>(source.size());
+        Map<String, CategoryDTO> index = new LinkedHashMap<>();
+        for (CategoryDTO category : source) {
+            CategoryDTO copy = copy(category);
+            copies.add(copy);
+            index.put(copy.getId(), copy);
+        }
+        this.categories = Collections.unmodifiableList(copies);
+        this.byId = Collections.unmodifiableMap(index);
+        this.etag = hash(copies);
+    }
+
+    /**
+     * 카테고리 목록 (호출 측에서 바꿔도 스냅샷에 영향이 없도록 복사본)
+     */
+    public List<CategoryDTO> getCategories() {
+        List<CategoryDTO> copies = new ArrayList<>(categories.size());
+        for (CategoryDTO category : categories) {
+            copies.add(copy(category));
+        }
+        return copies;
+    }
+
+    /**
+     * If-None-Match 헤더가 현재 ETag와 일치하는지 (쉼표로 나열된 ETag, "*", 약한 비교 W/ 지원)
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith(WEAK_PREFIX)) {
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 존재하는 카테고리인지 확인
+     */
+    public boolean contains(String categoryId) {
+        return byId.containsKey(categoryId);
+    }
+
+    private static CategoryDTO copy(CategoryDTO source) {
+        CategoryDTO target = new CategoryDTO();
+        BeanUtils.copyProperties(source, target);
+        return target;
+    }
+
+    private static String hash(List<CategoryDTO> categories) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (CategoryDTO category : categories) {
+                String row = category.getId() + '\u0000' + category.getName() + '\u0000' + category.getDescription()
+                        + '\u0000' + category.getIcon() + '\u0000' + category.getColor() + '\u0000' + category.getSortOrder()
+                        + '\n';
+                digest.update(row.getBytes(StandardCharsets.UTF_8));
+            }
+            // 강한 ETag 형식 ("...")
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.br.brlog.post.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 게시글 목록 keyset 페이징 커서
+ * 마지막으로 내려준 게시글의 (IS_NOTICE, 정렬 컬럼 값, POST_ID)를 담아 불투명한 문자열로 인코딩한다.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PostCursor {
+
+    private static final String SEPARATOR = "|";
+    
+    // 검색 색인 결과 정렬 기준 (BM25 점수)
+    public static final String SCORE = "score";
+
+    private final String sortKey;       // 정렬 기준 (regDt, likes, comments, score)
+    private final boolean notice;       // 마지막 게시글의 공지 여부
+    private final String sortValue;     // 마지막 게시글의 정렬 컬럼 값
+    private final Long postId;          // 마지막 게시글 ID
+
+    /**
+     * sortBy 파라미터를 커서 정렬 기준으로 변환
+     */
+    public static String toSortKey(String sortBy) {
+        if ("likes".equals(sortBy) || "comments".equals(sortBy)) {
+            return sortBy;
+        }
+        return "regDt";
+    }
+
+    /**
+     * 목록의 마지막 게시글로 다음 페이지 커서 생성
+     */
+    public static PostCursor of(String sortKey, PostDTO last) {
+        String sortValue;
+        switch (sortKey) {
+            case "likes":
+                sortValue = String.valueOf(last.getLikeCnt());
+                break;
+            case "comments":
+                sortValue = String.valueOf(last.getCommentCnt());
+                break;
+            default:
+                sortValue = last.getRegDt();
+        }
+        return new PostCursor(sortKey, last.isNotice(), sortValue, last.getPostId());
+    }
+
+    /**
+     * 커서 문자열 인코딩
+     */
+    public String encode() {
+        String raw = sortKey + SEPARATOR + (notice ? "1" : "0") + SEPARATOR + postId + SEPARATOR + sortValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 검색 색인 결과의 다음 페이지 커서 생성 (정렬 값은 BM25 점수)
+     */
+    public static PostCursor ofScore(double score, Long postId) {
+        return new PostCursor(SCORE, false, String.valueOf(score), postId);
+    }
+
+    /**
+     * 커서 문자열 디코딩 (빈 값이면 첫 페이지로 보고 null 반환)
+     */
+    public static PostCursor decode(String cursor, String expectedSortKey) {
+        PostCursor decoded = decode(cursor);
+        if (decoded != null && !decoded.sortKey.equals(expectedSortKey)) {
+            throw new IllegalArgumentException("정렬 기준이 다른 커서입니다: " + cursor);
+        }
+        return decoded;
+    }
+
+    /**
+     * 커서 문자열 디코딩 (정렬 기준 검증 없음)
+     */
+    public static PostCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("커서 형식 오류");
+            }
+            // 숫자 정렬 값은 미리 검증
+            if (SCORE.equals(parts[0])) {
+                Double.parseDouble(parts[3]);
+            } else if (!"regDt".equals(parts[0])) {
+                Long.parseLong(parts[3]);
+            }
+            return new PostCursor(parts[0], "1".equals(parts[1]), parts[3], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다: " + cursor, e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.br.brlog.post.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -25,4 +27,8 @@ public class PostDTO {
     
     private String userNm;
     private String profileImgUrl;
+    
+    // 로그인 사용자의 좋아요 여부 (목록 조회 시에만 채움)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean likedByMe;
 }
\ No newline at end of file
@@ -0,0 +1,544 @@
+package com.br.brlog.post.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.br.brlog.post.dao.PostDAO;
+import com.br.brlog.post.dto.PostDTO;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시글 전문 검색용 메모리 역색인
+ * - 기동 시 스냅샷 파일을 읽고, 스냅샷 이후 변경분만 D_POST에서 따라잡는다 (스냅샷이 없으면 전체 색인)
+ * - 저장/수정/삭제 시 증분 반영하고, post:search:changed 채널로 다른 노드에 알린다 (받은 노드는 DB에서 다시 읽음)
+ * - 메시지 유실에 대비해 주기적으로 최근 변경분(MOD_DT)을 다시 훑는다
+ * - BM25로 순위를 매기며, 검색어의 모든 토큰을 포함한 게시글만 결과로 낸다 (영문/숫자 토큰은 접두사 일치)
+ * 색인이 준비되기 전이나 비활성화된 경우 isReady()가 false이며, 토큰이 없는 검색어(기호만 등)는 canAnswer()가 false다.
+ * 이때 호출 측은 MySQL 검색을 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostSearchIndex {
+
+    private static final int SNAPSHOT_MAGIC = 0x42524C53; // "BRLS"
+    // 2: 한글 1-gram 추가
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final String CHANNEL = "post:search:changed";
+    private static final DateTimeFormatter DB_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // BM25 파라미터
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // 제목 토큰 가중치 (본문 대비)
+    private static final int TITLE_BOOST = 2;
+
+    private final PostDAO postDAO;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    // 자기 노드가 보낸 변경 알림을 구분하기 위한 ID
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 토큰 -> (postId -> 빈도), 접두사 검색을 위해 정렬
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    // postId -> (토큰 -> 빈도)
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    // postId -> 문서 길이 (빈도 합계)
+    private final Map<Long, Integer> documentLengths = new HashMap<>();
+    private long totalLength;
+
+    // 색인 구축 중에 들어온 변경분 (구축 완료 후 순서대로 반영)
+    private final List<Runnable> pendingOps = new ArrayList<>();
+
+    private volatile boolean ready;
+    private volatile boolean failed;
+    private volatile boolean dirty;
+
+    // 마지막 변경분 스캔 시작 시각 (다음 따라잡기 스캔의 기준)
+    private volatile long lastScanAt;
+
+    @Value("${post.search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${post.search.snapshot-path:data/search/post-index.snapshot}")
+    private String snapshotPath;
+
+    // 색인 구축 시 한 번에 읽을 게시글 수 (본문을 포함하므로 메모리에 한 페이지만 둔다)
+    @Value("${post.search.scan-batch-size:500}")
+    private int scanBatchSize;
+
+    // 스냅샷 이후 변경분 조회 시 여유 시간 (커밋 지연/시계 차이 보정)
+    @Value("${post.search.catch-up-margin-ms:300000}")
+    private long catchUpMarginMs;
+
+    /**
+     * 다른 노드의 변경 알림 구독
+     */
+    @PostConstruct
+    public void subscribe() {
+        if (enabled) {
+            listenerContainer.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+        }
+    }
+
+    /**
+     * 기동 후 백그라운드에서 색인 구축
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("게시글 검색 색인 비활성화 - MySQL 검색 사용");
+            return;
+        }
+
+        Thread builder = new Thread(this::build, "post-search-index-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 색인으로 찾을 수 있는 검색어인지 (토큰이 하나도 없으면 MySQL 검색으로 처리)
+     */
+    public boolean canAnswer(String query) {
+        return !PostTokenizer.tokenizeQuery(query).isEmpty();
+    }
+
+    /**
+     * 게시글 색인 (추가/수정, 모든 노드)
+     */
+    public void index(Long postId, String title, String content) {
+        submit(() -> put(postId, title, content));
+        publish(postId);
+    }
+
+    /**
+     * 게시글 색인 제거 (모든 노드)
+     */
+    public void remove(Long postId) {
+        submit(() -> delete(postId));
+        publish(postId);
+    }
+
+    /**
+     * 검색어에 대한 BM25 순위 (점수 내림차순, 같은 점수는 최신 게시글 우선)
+     */
+    public List<Hit> search(String query) {
+        Set<String> terms = new LinkedHashSet<>(PostTokenizer.tokenizeQuery(query));
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            // 문서 빈도가 가장 작은 토큰부터 교집합
+            List<Map<Long, Integer>> lists = new ArrayList<>();
+            for (String term : terms) {
+                Map<Long, Integer> list = PostTokenizer.isPrefixToken(term) ? prefixPostings(term) : postings.get(term);
+                if (list == null || list.isEmpty()) {
+                    return new ArrayList<>();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(Map::size));
+
+            int docCount = documents.size();
+            double avgLength = docCount > 0 ? (double) totalLength / docCount : 1.0;
+
+            List<Hit> hits = new ArrayList<>();
+            Map<Long, Integer> smallest = lists.get(0);
+            candidates:
+            for (Long postId : smallest.keySet()) {
+                for (int i = 1; i < lists.size(); i++) {
+                    if (!lists.get(i).containsKey(postId)) {
+                        continue candidates;
+                    }
+                }
+
+                int length = documentLengths.get(postId);
+                double score = 0.0;
+                for (Map<Long, Integer> list : lists) {
+                    int tf = list.get(postId);
+                    int df = list.size();
+                    double idf = Math.log(1.0 + (docCount - df + 0.5) / (df + 0.5));
+                    score += idf * (tf * (K1 + 1)) / (tf + K1 * (1 - B + B * length / avgLength));
+                }
+                hits.add(new Hit(postId, score));
+            }
+
+            hits.sort(Comparator.comparingDouble(Hit::getScore).reversed()
+                    .thenComparing(Comparator.comparingLong(Hit::getPostId).reversed()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 접두사가 같은 토큰들의 게시글별 빈도 합 ("spring" -> spring, springboot, ...) - 읽기 잠금 안에서 호출
+     */
+    private Map<Long, Integer> prefixPostings(String prefix) {
+        SortedMap<String, Map<Long, Integer>> matches = postings.subMap(prefix, prefix + Character.MAX_VALUE);
+        if (matches.size() <= 1) {
+            return matches.isEmpty() ? null : matches.values().iterator().next();
+        }
+        Map<Long, Integer> merged = new HashMap<>();
+        for (Map<Long, Integer> list : matches.values()) {
+            list.forEach((postId, tf) -> merged.merge(postId, tf, Integer::sum));
+        }
+        return merged;
+    }
+
+    /**
+     * 변경분이 있으면 스냅샷 저장
+     */
+    @Scheduled(fixedDelayString = "${post.search.snapshot-interval-ms:600000}",
+               initialDelayString = "${post.search.snapshot-interval-ms:600000}")
+    public void saveSnapshotIfDirty() {
+        if (ready && dirty) {
+            saveSnapshot();
+        }
+    }
+
+    /**
+     * 최근 변경분 따라잡기 (변경 알림을 놓친 경우 대비)
+     */
+    @Scheduled(fixedDelayString = "${post.search.catch-up-interval-ms:300000}",
+               initialDelayString = "${post.search.catch-up-interval-ms:300000}")
+    public void catchUp() {
+        if (!ready) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        try {
+            scan(formatSince(lastScanAt));
+            lastScanAt = startedAt;
+        } catch (Exception e) {
+            log.error("게시글 검색 색인 따라잡기 실패, 다음 주기에 재시도: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 종료 시 스냅샷 저장
+     */
+    @PreDestroy
+    public void shutdown() {
+        saveSnapshotIfDirty();
+    }
+
+    private void build() {
+        long startedAt = System.currentTimeMillis();
+        try {
+            Long snapshotAt = loadSnapshot();
+            String since = snapshotAt != null ? formatSince(snapshotAt) : null;
+
+            // 스냅샷 이후 변경분(또는 전체)을 POST_ID 순으로 페이지 단위 반영
+            scan(since);
+
+            synchronized (pendingOps) {
+                pendingOps.forEach(Runnable::run);
+                pendingOps.clear();
+                lastScanAt = startedAt;
+                ready = true;
+            }
+
+            dirty = true;
+            saveSnapshot();
+            log.info("게시글 검색 색인 준비 완료: {}건, {}ms (스냅샷 사용: {})",
+                    documents.size(), System.currentTimeMillis() - startedAt, snapshotAt != null);
+        } catch (Exception e) {
+            log.error("게시글 검색 색인 구축 실패 - MySQL 검색 사용: {}", e.getMessage(), e);
+            synchronized (pendingOps) {
+                failed = true;
+                pendingOps.clear();
+            }
+        }
+    }
+
+    private String formatSince(long at) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(at - catchUpMarginMs), ZoneId.systemDefault())
+                .format(DB_DATE_FORMAT);
+    }
+
+    /**
+     * 다른 노드에서 바뀐 게시글을 DB에서 다시 읽어 반영
+     */
+    private void reload(Long postId) {
+        PostDTO post = postDAO.getPostForIndex(postId);
+        if (post != null && "A".equals(post.getStatus())) {
+            put(postId, post.getTitle(), post.getContent());
+        } else {
+            delete(postId);
+        }
+    }
+
+    private void publish(Long postId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, nodeId + ":" + postId);
+        } catch (Exception e) {
+            log.error("검색 색인 변경 알림 실패 (따라잡기 스캔 때 반영): postId={}, {}", postId, e.getMessage());
+        }
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator < 0 || body.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        Long postId = Long.valueOf(body.substring(separator + 1));
+        try {
+            submit(() -> reload(postId));
+        } catch (Exception e) {
+            log.error("검색 색인 변경 반영 실패 (따라잡기 스캔 때 반영): postId={}, {}", postId, e.getMessage());
+        }
+    }
+
+    private void scan(String since) {
+        Long afterPostId = null;
+        List<PostDTO> page;
+        do {
+            page = postDAO.scanPostsForIndex(since, afterPostId, scanBatchSize);
+            for (PostDTO post : page) {
+                if ("A".equals(post.getStatus())) {
+                    put(post.getPostId(), post.getTitle(), post.getContent());
+                } else {
+                    delete(post.getPostId());
+                }
+            }
+            if (!page.isEmpty()) {
+                afterPostId = page.get(page.size() - 1).getPostId();
+            }
+        } while (page.size() == scanBatchSize);
+    }
+
+    private void submit(Runnable op) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (pendingOps) {
+            if (failed) {
+                return;
+            }
+            if (!ready) {
+                pendingOps.add(op);
+                return;
+            }
+        }
+        op.run();
+    }
+
+    private void put(Long postId, String title, String content) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String token : PostTokenizer.tokenize(title)) {
+            terms.merge(token, TITLE_BOOST, Integer::sum);
+        }
+        for (String token : PostTokenizer.tokenize(content)) {
+            terms.merge(token, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            deleteLocked(postId);
+            addLocked(postId, terms);
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void delete(Long postId) {
+        lock.writeLock().lock();
+        try {
+            if (deleteLocked(postId)) {
+                dirty = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addLocked(Long postId, Map<String, Integer> terms) {
+        if (terms.isEmpty()) {
+            return;
+        }
+        int length = 0;
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), key -> new HashMap<>()).put(postId, term.getValue());
+            length += term.getValue();
+        }
+        documents.put(postId, terms);
+        documentLengths.put(postId, length);
+        totalLength += length;
+    }
+
+    private boolean deleteLocked(Long postId) {
+        Map<String, Integer> terms = documents.remove(postId);
+        if (terms == null) {
+            return false;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> list = postings.get(term);
+            if (list != null) {
+                list.remove(postId);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= documentLengths.remove(postId);
+        return true;
+    }
+
+    /**
+     * 스냅샷 저장 (임시 파일에 쓴 뒤 교체)
+     * 읽기 잠금 안에서는 문서 목록만 복사하고, 파일 쓰기는 잠금 밖에서 한다.
+     * 문서별 토큰 맵은 색인 후 바뀌지 않고 교체만 되므로 얕은 복사로 충분하다.
+     */
+    private void saveSnapshot() {
+        Path path = Paths.get(snapshotPath);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        long createdAt;
+        Map<Long, Map<String, Integer>> copy;
+        lock.readLock().lock();
+        try {
+            createdAt = System.currentTimeMillis();
+            dirty = false;
+            copy = new HashMap<>(documents);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(createdAt);
+                out.writeInt(copy.size());
+                for (Map.Entry<Long, Map<String, Integer>> document : copy.entrySet()) {
+                    out.writeLong(document.getKey());
+                    out.writeInt(document.getValue().size());
+                    for (Map.Entry<String, Integer> term : document.getValue().entrySet()) {
+                        out.writeUTF(term.getKey());
+                        out.writeInt(term.getValue());
+                    }
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("게시글 검색 색인 스냅샷 저장: {}건", copy.size());
+        } catch (IOException e) {
+            dirty = true;
+            log.error("게시글 검색 색인 스냅샷 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 스냅샷 적재 - 스냅샷 생성 시각 반환 (없거나 읽을 수 없으면 null)
+     */
+    private Long loadSnapshot() {
+        Path path = Paths.get(snapshotPath);
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("알 수 없는 검색 색인 스냅샷 형식 - 전체 색인: {}", path);
+                return null;
+            }
+            long createdAt = in.readLong();
+            int documentCount = in.readInt();
+
+            lock.writeLock().lock();
+            try {
+                for (int i = 0; i < documentCount; i++) {
+                    long postId = in.readLong();
+                    int termCount = in.readInt();
+                    Map<String, Integer> terms = new HashMap<>(termCount * 2);
+                    for (int j = 0; j < termCount; j++) {
+                        terms.put(in.readUTF(), in.readInt());
+                    }
+                    addLocked(postId, terms);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("게시글 검색 색인 스냅샷 적재: {}건", documentCount);
+            return createdAt;
+        } catch (IOException e) {
+            log.warn("검색 색인 스냅샷 적재 실패 - 전체 색인: {}", e.getMessage());
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                documents.clear();
+                documentLengths.clear();
+                totalLength = 0;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 검색 결과 항목
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Hit {
+        private final Long postId;
+        private final double score;
+    }
+}
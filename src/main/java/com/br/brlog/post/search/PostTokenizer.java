@@ -0,0 +1,93 @@
+package com.br.brlog.post.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 게시글 검색용 토크나이저
+ * - 한글/한자/가나 등 띄어쓰기만으로 나눌 수 없는 문자열은 글자 단위로 나눈다.
+ *   색인에는 1-gram과 2-gram을 모두 넣고, 검색어는 2-gram(1글자면 1-gram)으로 찾는다.
+ * - 영문/숫자는 단어 단위 소문자 토큰이며, 검색어는 접두사로 찾는다 ("spring" -> "springboot").
+ * 조사가 붙은 한글("검색엔진을")도 2-gram이 겹치므로 부분 일치 검색이 가능하다.
+ */
+public final class PostTokenizer {
+
+    private PostTokenizer() {
+    }
+
+    /**
+     * 색인용 토큰
+     */
+    public static List<String> tokenize(String text) {
+        return split(text, true);
+    }
+
+    /**
+     * 검색어 토큰 (영문/숫자 토큰은 isPrefixToken으로 구분해 접두사 일치로 찾는다)
+     */
+    public static List<String> tokenizeQuery(String text) {
+        return split(text, false);
+    }
+
+    /**
+     * 접두사 일치로 찾는 토큰인지 (영문/숫자 단어)
+     */
+    public static boolean isPrefixToken(String token) {
+        return !token.isEmpty() && !isNgramChar(token.charAt(0));
+    }
+
+    private static List<String> split(String text, boolean forIndex) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char ch = text.charAt(i);
+            if (isNgramChar(ch)) {
+                int start = i;
+                while (i < length && isNgramChar(text.charAt(i))) {
+                    i++;
+                }
+                addNgrams(text, start, i, forIndex, tokens);
+            } else if (Character.isLetterOrDigit(ch)) {
+                int start = i;
+                while (i < length && Character.isLetterOrDigit(text.charAt(i)) && !isNgramChar(text.charAt(i))) {
+                    i++;
+                }
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    // 색인: 1-gram + 2-gram (한 글자 검색어도 찾을 수 있도록) / 검색어: 2-gram, 1글자면 1-gram
+    private static void addNgrams(String text, int start, int end, boolean forIndex, List<String> tokens) {
+        if (forIndex || end - start == 1) {
+            for (int i = start; i < end; i++) {
+                tokens.add(text.substring(i, i + 1));
+            }
+        }
+        for (int i = start; i + 1 < end; i++) {
+            tokens.add(text.substring(i, i + 2));
+        }
+    }
+
+    /**
+     * n-gram 대상 문자 (한글 음절/자모, CJK 한자, 가나)
+     */
+    private static boolean isNgramChar(char ch) {
+        Character.UnicodeBlock block = Character.UnicodeBlock.of(ch);
+        return block == Character.UnicodeBlock.HANGUL_SYLLABLES
+                || block == Character.UnicodeBlock.HANGUL_JAMO
+                || block == Character.UnicodeBlock.HANGUL_COMPATIBILITY_JAMO
+                || block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS
+                || block == Character.UnicodeBlock.HIRAGANA
+                || block == Character.UnicodeBlock.KATAKANA;
+    }
+}
@@ -0,0 +1,328 @@
+package com.br.brlog.post.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.br.brlog.post.dao.PostDAO;
+import com.br.brlog.post.dto.ContributorDTO;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기여자(작성 게시글 수) 순위표
+ * 작성자별 활성 게시글 수를 Redis Sorted Set에 두고 저장/삭제 시 증감한다.
+ * - contributors:all          전체 기간
+ * - contributors:w:2025-W09   주간 (ISO 주, 게시글 등록일 기준)
+ * - contributors:m:2025-03    월간
+ * 주기적으로 DB에서 다시 집계해 통째로 교체하며, Redis 장애 시나 키가 없을 때는 DB 집계로 응답한다.
+ * - 키가 없으면(Redis 초기화, 새 기간 등) 증감하지 않고 재구성을 요청한다 (일부만 쌓인 순위 방지)
+ * - 재구성 중(키:rebuilding 존재)의 증감은 키:rebuild-delta에도 기록해 교체 직전에 새 집계에 더한다
+ * - 재구성은 한 번에 한 노드만 한다 (contributors:rebuild:lock)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContributorLeaderboard {
+
+    public static final String ALL = "all";
+    public static final String WEEKLY = "weekly";
+    public static final String MONTHLY = "monthly";
+
+    private static final String KEY_PREFIX = "contributors:";
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    // 기간별 키 보관 기간 (지난 기간 순위 조회 여유)
+    private static final Duration WEEKLY_TTL = Duration.ofDays(7 * 5);
+    private static final Duration MONTHLY_TTL = Duration.ofDays(31 * 3);
+    // 재구성 도중 노드가 죽어도 임시 키가 남지 않도록
+    private static final Duration REBUILD_TEMP_TTL = Duration.ofMinutes(10);
+    // 키가 없을 때 재구성 요청 최소 간격 (빈 기간에 매 요청마다 재구성하지 않도록)
+    private static final Duration REBUILD_REQUEST_INTERVAL = Duration.ofMinutes(1);
+    private static final String REBUILD_LOCK_KEY = KEY_PREFIX + "rebuild:lock";
+
+    // 키가 있을 때만 증감 (감소는 점수가 있을 때만, 0 이하면 제거), 재구성 중이면 변경분도 기록
+    // KEYS: 순위표, 재구성 표시, 재구성 중 변경분 / ARGV: userId, 증감, TTL(ms, 0이면 유지) - 키가 없으면 -1
+    private static final RedisScript<Long> UPDATE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[2]) == 1 then\n"
+          + "  redis.call('HINCRBY', KEYS[3], ARGV[1], ARGV[2])\n"
+          + "  redis.call('PEXPIRE', KEYS[3], redis.call('PTTL', KEYS[2]))\n"
+          + "end\n"
+          + "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end\n"
+          + "if tonumber(ARGV[2]) < 0 then\n"
+          + "  local score = redis.call('ZSCORE', KEYS[1], ARGV[1])\n"
+          + "  if not score then return 0 end\n"
+          + "  if tonumber(score) + tonumber(ARGV[2]) <= 0 then\n"
+          + "    redis.call('ZREM', KEYS[1], ARGV[1])\n"
+          + "    return 0\n"
+          + "  end\n"
+          + "end\n"
+          + "redis.call('ZINCRBY', KEYS[1], ARGV[2], ARGV[1])\n"
+          + "if tonumber(ARGV[3]) > 0 then redis.call('PEXPIRE', KEYS[1], ARGV[3]) end\n"
+          + "return 1",
+            Long.class);
+
+    // 재구성 중 변경분을 새 집계에 더한 뒤 순위표와 교체
+    // KEYS: 새 집계(임시), 재구성 중 변경분, 순위표, 재구성 표시 / ARGV: TTL(ms, 0이면 만료 없음)
+    private static final RedisScript<Long> SWAP_SCRIPT = new DefaultRedisScript<>(
+            "local deltas = redis.call('HGETALL', KEYS[2])\n"
+          + "for i = 1, #deltas, 2 do redis.call('ZINCRBY', KEYS[1], deltas[i + 1], deltas[i]) end\n"
+          + "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', 0)\n"
+          + "redis.call('DEL', KEYS[2], KEYS[4])\n"
+          + "if redis.call('EXISTS', KEYS[1]) == 0 then\n"
+          + "  redis.call('DEL', KEYS[3])\n"
+          + "  return 0\n"
+          + "end\n"
+          + "redis.call('RENAME', KEYS[1], KEYS[3])\n"
+          + "if tonumber(ARGV[1]) > 0 then redis.call('PEXPIRE', KEYS[3], ARGV[1]) else redis.call('PERSIST', KEYS[3]) end\n"
+          + "return 1",
+            Long.class);
+
+    // 자기 노드가 잡은 재구성 잠금만 해제
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end\n"
+          + "return 0",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final PostDAO postDAO;
+
+    // 마지막 재구성 요청 시각 (키가 없을 때)
+    private final AtomicLong lastRebuildRequestAt = new AtomicLong();
+
+    @Value("${post.contributors.max-limit:100}")
+    private int maxLimit;
+
+    /**
+     * 기동 시 순위표 재구성
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("기여자 순위표 초기 구성 실패 - DB 집계로 응답: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 상위 기여자 조회
+     */
+    public List<ContributorDTO> getTop(String period, int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit은 1 ~ " + maxLimit + " 사이여야 합니다");
+        }
+        LocalDate today = LocalDate.now();
+        String key = key(period, today);
+
+        Set<ZSetOperations.TypedTuple<String>> ranked;
+        try {
+            ranked = stringRedisTemplate.opsForZSet().reverseRangeWithScores(key, 0, limit - 1);
+        } catch (Exception e) {
+            log.warn("기여자 순위표 조회 실패 - DB 집계로 응답: {}", e.getMessage());
+            return postDAO.getContributors(since(period, today), limit);
+        }
+        // 빈 Sorted Set은 남지 않으므로 비어 있으면 키가 없는 것 - 재구성 전까지 DB 집계로 응답
+        if (ranked == null || ranked.isEmpty()) {
+            requestRebuild();
+            return postDAO.getContributors(since(period, today), limit);
+        }
+
+        List<String> userIds = ranked.stream().map(ZSetOperations.TypedTuple::getValue).collect(Collectors.toList());
+        Map<String, ContributorDTO> profiles = postDAO.getContributorProfiles(userIds).stream()
+                .collect(Collectors.toMap(ContributorDTO::getId, Function.identity()));
+
+        List<ContributorDTO> contributors = new ArrayList<>(ranked.size());
+        for (ZSetOperations.TypedTuple<String> entry : ranked) {
+            ContributorDTO contributor = profiles.get(entry.getValue());
+            if (contributor == null || entry.getScore() == null || entry.getScore() <= 0) {
+                continue; // 탈퇴한 사용자 등은 다음 재구성 때 정리됨
+            }
+            contributor.setContributions(entry.getScore().intValue());
+            contributors.add(contributor);
+        }
+        return contributors;
+    }
+
+    /**
+     * 게시글 등록 반영
+     */
+    public void increment(String userId) {
+        if (userId == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        try {
+            boolean present = update(key(ALL, today), userId, 1, null);
+            present &= update(key(WEEKLY, today), userId, 1, WEEKLY_TTL);
+            present &= update(key(MONTHLY, today), userId, 1, MONTHLY_TTL);
+            if (!present) {
+                requestRebuild();
+            }
+        } catch (Exception e) {
+            log.warn("기여자 순위표 반영 실패 (다음 재구성 시 보정): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 게시글 삭제 반영 (등록일이 속한 주간/월간 순위에서도 차감)
+     */
+    public void decrement(String userId, String regDt) {
+        if (userId == null) {
+            return;
+        }
+        LocalDate postDate = parseDate(regDt);
+        try {
+            update(key(ALL, postDate), userId, -1, null);
+            if (postDate != null) {
+                update(key(WEEKLY, postDate), userId, -1, null);
+                update(key(MONTHLY, postDate), userId, -1, null);
+            }
+        } catch (Exception e) {
+            log.warn("기여자 순위표 반영 실패 (다음 재구성 시 보정): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * DB에서 다시 집계해 순위표 교체 (증감 누락/중복 보정)
+     * 다른 노드가 재구성 중이면 건너뛴다.
+     */
+    @Scheduled(fixedDelayString = "${post.contributors.rebuild-interval-ms:3600000}",
+               initialDelayString = "${post.contributors.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                .setIfAbsent(REBUILD_LOCK_KEY, token, REBUILD_TEMP_TTL))) {
+            log.debug("다른 노드가 기여자 순위표 재구성 중");
+            return;
+        }
+        try {
+            LocalDate today = LocalDate.now();
+            replace(key(ALL, today), () -> postDAO.countPostsByAuthor(null), null);
+            replace(key(WEEKLY, today), () -> postDAO.countPostsByAuthor(since(WEEKLY, today)), WEEKLY_TTL);
+            replace(key(MONTHLY, today), () -> postDAO.countPostsByAuthor(since(MONTHLY, today)), MONTHLY_TTL);
+            log.debug("기여자 순위표 재구성 완료");
+        } finally {
+            stringRedisTemplate.execute(UNLOCK_SCRIPT, List.of(REBUILD_LOCK_KEY), token);
+        }
+    }
+
+    /**
+     * 키가 없을 때 백그라운드 재구성 요청 (REBUILD_REQUEST_INTERVAL에 한 번)
+     */
+    private void requestRebuild() {
+        long now = System.currentTimeMillis();
+        long last = lastRebuildRequestAt.get();
+        if (now - last < REBUILD_REQUEST_INTERVAL.toMillis() || !lastRebuildRequestAt.compareAndSet(last, now)) {
+            return;
+        }
+        Thread builder = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.warn("기여자 순위표 재구성 실패 (다음 주기에 재시도): {}", e.getMessage());
+            }
+        }, "contributor-leaderboard-rebuild");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void replace(String key, Supplier<List<Map<String, Object>>> query, Duration ttl) {
+        // 집계 전부터 변경분 기록 시작
+        String rebuildingKey = key + ":rebuilding";
+        String deltaKey = key + ":rebuild-delta";
+        stringRedisTemplate.delete(deltaKey);
+        stringRedisTemplate.opsForValue().set(rebuildingKey, "1", REBUILD_TEMP_TTL);
+
+        List<Map<String, Object>> rows = query.get();
+
+        // 여러 노드가 동시에 재구성해도 서로의 임시 키를 지우지 않도록 실행마다 다른 키 사용
+        String tempKey = key + ":rebuild:" + UUID.randomUUID();
+        if (!rows.isEmpty()) {
+            Map<String, Double> scores = new HashMap<>();
+            for (Map<String, Object> row : rows) {
+                scores.put((String) row.get("userId"), ((Number) row.get("cnt")).doubleValue());
+            }
+            Set<ZSetOperations.TypedTuple<String>> tuples = scores.entrySet().stream()
+                    .map(entry -> ZSetOperations.TypedTuple.of(entry.getKey(), entry.getValue()))
+                    .collect(Collectors.toSet());
+            stringRedisTemplate.opsForZSet().add(tempKey, tuples);
+            stringRedisTemplate.expire(tempKey, REBUILD_TEMP_TTL);
+        }
+
+        stringRedisTemplate.execute(SWAP_SCRIPT, List.of(tempKey, deltaKey, key, rebuildingKey),
+                String.valueOf(ttl != null ? ttl.toMillis() : 0L));
+    }
+
+    /**
+     * 순위표 증감 - 키가 없으면 false
+     */
+    private boolean update(String key, String userId, int delta, Duration ttl) {
+        Long result = stringRedisTemplate.execute(UPDATE_SCRIPT,
+                List.of(key, key + ":rebuilding", key + ":rebuild-delta"),
+                userId, String.valueOf(delta), String.valueOf(ttl != null ? ttl.toMillis() : 0L));
+        return result == null || result >= 0;
+    }
+
+    private static String key(String period, LocalDate date) {
+        switch (period == null ? ALL : period) {
+            case ALL:
+                return KEY_PREFIX + ALL;
+            case WEEKLY:
+                return String.format("%sw:%d-W%02d", KEY_PREFIX,
+                        date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTHLY:
+                return KEY_PREFIX + "m:" + date.format(MONTH_FORMAT);
+            default:
+                throw new IllegalArgumentException("지원하지 않는 기간입니다: " + period);
+        }
+    }
+
+    /**
+     * 기간 시작일 (전체 기간이면 null)
+     */
+    private static String since(String period, LocalDate today) {
+        if (WEEKLY.equals(period)) {
+            return today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toString();
+        }
+        if (MONTHLY.equals(period)) {
+            return today.with(TemporalAdjusters.firstDayOfMonth()).toString();
+        }
+        return null;
+    }
+
+    private static LocalDate parseDate(String regDt) {
+        if (regDt == null || regDt.length() < 10) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(regDt.substring(0, 10));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
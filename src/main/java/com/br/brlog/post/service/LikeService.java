@@ -0,0 +1,435 @@
+package com.br.brlog.post.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.br.brlog.post.dao.PostDAO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시글 좋아요 저장소
+ * - 게시글별 Redis Set(post:likes:{postId})에 좋아요한 사용자를 두고 Lua로 원자적으로 추가/삭제한다
+ * - 좋아요 수는 SCARD로 바로 계산 (적재 표시용 센티널 1개 제외)
+ * - 변경분은 게시글별 pending 해시에 쌓아 두었다가 주기적으로 D_LIKE / LIKE_CNT에 일괄 반영한다
+ * - 토글 스크립트가 pending 기록과 반영 대상(dirty Set) 표시를 함께 하므로 둘 중 하나만 남는 경우가 없다
+ *   (단일 Redis 기준 - 스크립트가 게시글 키와 dirty 키를 함께 다루므로 Redis Cluster에서는 쓸 수 없다)
+ * - 반영할 게시글은 임대(lease)를 걸어 가져가므로, 반영 중 노드가 죽어도 임대가 만료되면 다른 노드가 이어서 반영한다
+ */
+@Slf4j
+@Service
+public class LikeService {
+
+    // Set이 DB에서 적재되었음을 나타내는 센티널 (사용자 ID로 쓰일 수 없는 값)
+    private static final String LOADED = "__loaded__";
+
+    // 반영 대기 게시글 Set과 반영 중 게시글 임대 ZSET (score = 임대 만료 시각, 같은 슬롯)
+    private static final String DIRTY_KEY = "post:likes:{dirty}";
+    private static final String LEASE_KEY = "post:likes:{dirty}:leases";
+
+    private static final String ADD = "A";
+    private static final String REMOVE = "R";
+
+    /**
+     * 좋아요 추가/삭제 (바뀌었으면 pending 기록과 반영 대상 표시)
+     * KEYS: set, pending, dirty / ARGV: userId, A|R, ttlMs, postId
+     * 반환: 1 변경됨, 0 이미 같은 상태, -1 Set 미적재
+     */
+    private static final RedisScript<Long> TOGGLE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end\n"
+          + "local changed\n"
+          + "if ARGV[2] == 'A' then changed = redis.call('SADD', KEYS[1], ARGV[1])\n"
+          + "else changed = redis.call('SREM', KEYS[1], ARGV[1]) end\n"
+          + "if changed == 1 then\n"
+          + "  redis.call('HSET', KEYS[2], ARGV[1], ARGV[2])\n"
+          + "  redis.call('SADD', KEYS[3], ARGV[4])\n"
+          + "end\n"
+          + "redis.call('PEXPIRE', KEYS[1], ARGV[3])\n"
+          + "return changed",
+            Long.class);
+
+    /**
+     * DB 좋아요 목록으로 Set 적재 (이미 있으면 무시)
+     * 아직 DB에 반영되지 않은 processing/pending 변경분을 그 위에 순서대로 적용한다.
+     * KEYS: set, processing, pending / ARGV: ttlMs, userId...
+     */
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end\n"
+          + "redis.call('SADD', KEYS[1], '" + LOADED + "')\n"
+          + "for i = 2, #ARGV do redis.call('SADD', KEYS[1], ARGV[i]) end\n"
+          + "for k = 2, 3 do\n"
+          + "  local ops = redis.call('HGETALL', KEYS[k])\n"
+          + "  for i = 1, #ops, 2 do\n"
+          + "    if ops[i + 1] == 'A' then redis.call('SADD', KEYS[1], ops[i])\n"
+          + "    else redis.call('SREM', KEYS[1], ops[i]) end\n"
+          + "  end\n"
+          + "end\n"
+          + "redis.call('PEXPIRE', KEYS[1], ARGV[1])\n"
+          + "return 1",
+            Long.class);
+
+    /**
+     * 좋아요 여부 (KEYS: set / ARGV: userId) - 1/0, 미적재면 -1
+     */
+    private static final RedisScript<Long> CHECK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end\n"
+          + "return redis.call('SISMEMBER', KEYS[1], ARGV[1])",
+            Long.class);
+
+    /**
+     * 좋아요 수 (KEYS: set) - 미적재면 -1
+     */
+    private static final RedisScript<Long> COUNT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end\n"
+          + "return redis.call('SCARD', KEYS[1]) - 1",
+            Long.class);
+
+    /**
+     * 반영할 게시글 가져가기 (임대 설정)
+     * 임대가 만료된 게시글(반영 중 노드가 죽은 경우)을 먼저 다시 가져가고, 나머지는 dirty Set에서 꺼낸다.
+     * 다른 노드가 반영 중인 게시글은 dirty Set에 되돌려 두어 동시에 반영하지 않는다.
+     * KEYS: dirty, leases / ARGV: now, leaseUntil, count
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>(
+            "local limit = tonumber(ARGV[3])\n"
+          + "local claimed = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, limit)\n"
+          + "local busy = {}\n"
+          + "if #claimed < limit then\n"
+          + "  local popped = redis.call('SPOP', KEYS[1], limit - #claimed)\n"
+          + "  for _, id in ipairs(popped) do\n"
+          + "    local leased = redis.call('ZSCORE', KEYS[2], id)\n"
+          + "    if leased and tonumber(leased) > tonumber(ARGV[1]) then table.insert(busy, id)\n"
+          + "    else table.insert(claimed, id) end\n"
+          + "  end\n"
+          + "end\n"
+          + "for _, id in ipairs(claimed) do redis.call('ZADD', KEYS[2], ARGV[2], id) end\n"
+          + "for _, id in ipairs(busy) do redis.call('SADD', KEYS[1], id) end\n"
+          + "return claimed",
+            List.class);
+
+    /**
+     * pending 변경분을 processing으로 옮기고 반영 대상 전체 반환
+     * 이전 주기에 반영하지 못한 processing이 남아 있으면 그 위에 덮어써 함께 반영한다.
+     * KEYS: pending, processing
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> DRAIN_SCRIPT = new DefaultRedisScript<>(
+            "local ops = redis.call('HGETALL', KEYS[1])\n"
+          + "for i = 1, #ops, 2 do redis.call('HSET', KEYS[2], ops[i], ops[i + 1]) end\n"
+          + "redis.call('DEL', KEYS[1])\n"
+          + "return redis.call('HGETALL', KEYS[2])",
+            List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final PostDAO postDAO;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer flushTimer;
+    private final Counter flushedOps;
+    private final Counter flushFailures;
+
+    // 좋아요 Set 유지 시간 (접근 시 갱신)
+    @Value("${post.like.set-ttl-ms:86400000}")
+    private long setTtlMs;
+
+    // 한 번의 반영 주기에 처리할 최대 게시글 수
+    @Value("${post.like.batch-size:500}")
+    private int batchSize;
+
+    // 반영 임대 시간 (이 시간 안에 반영하지 못하면 다른 노드가 다시 가져감)
+    @Value("${post.like.lease-ms:60000}")
+    private long leaseMs;
+
+    // 좋아요 여부 일괄 조회 시 최대 게시글 수
+    @Value("${post.like.bulk-check-max:200}")
+    private int bulkCheckMax;
+
+    public LikeService(StringRedisTemplate stringRedisTemplate, PostDAO postDAO,
+                       TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.postDAO = postDAO;
+        this.transactionTemplate = transactionTemplate;
+
+        this.flushTimer = Timer.builder("post.like.flush")
+                .description("좋아요 일괄 반영 소요 시간")
+                .register(meterRegistry);
+        this.flushedOps = Counter.builder("post.like.flushed")
+                .description("DB에 반영된 좋아요 추가/삭제 건수")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("post.like.flush.failures")
+                .description("좋아요 일괄 반영 실패 게시글 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 좋아요 추가 (이미 좋아요한 경우 false)
+     */
+    public boolean addLike(Long postId, String userId) {
+        return toggle(postId, userId, ADD);
+    }
+
+    /**
+     * 좋아요 취소 (좋아요하지 않은 경우 false)
+     */
+    public boolean removeLike(Long postId, String userId) {
+        return toggle(postId, userId, REMOVE);
+    }
+
+    /**
+     * 좋아요 여부
+     */
+    public boolean isLiked(Long postId, String userId) {
+        List<String> keys = List.of(setKey(postId));
+        Long result = stringRedisTemplate.execute(CHECK_SCRIPT, keys, userId);
+        if (result == null || result < 0) {
+            load(postId);
+            result = stringRedisTemplate.execute(CHECK_SCRIPT, keys, userId);
+        }
+        return result != null && result == 1L;
+    }
+
+    /**
+     * 여러 게시글 중 사용자가 좋아요한 게시글 ID (일괄 조회 API용, 최대 bulkCheckMax건)
+     */
+    public Set<Long> checkLikedPostIds(List<Long> postIds, String userId) {
+        if (postIds != null && postIds.size() > bulkCheckMax) {
+            throw new IllegalArgumentException("한 번에 확인할 수 있는 게시글은 최대 " + bulkCheckMax + "건입니다");
+        }
+        return getLikedPostIds(postIds, userId);
+    }
+
+    /**
+     * 여러 게시글 중 사용자가 좋아요한 게시글 ID
+     * bulkCheckMax건씩 Redis 파이프라인으로 확인하고, Set이 적재되지 않은 게시글만 DB로 확인한다.
+     */
+    public Set<Long> getLikedPostIds(List<Long> postIds, String userId) {
+        Set<Long> liked = new HashSet<>();
+        if (postIds == null || postIds.isEmpty() || userId == null) {
+            return liked;
+        }
+        for (int from = 0; from < postIds.size(); from += bulkCheckMax) {
+            collectLiked(postIds.subList(from, Math.min(from + bulkCheckMax, postIds.size())), userId, liked);
+        }
+        return liked;
+    }
+
+    private void collectLiked(List<Long> postIds, String userId, Set<Long> liked) {
+        // 게시글마다 (EXISTS, SISMEMBER) 순서로 결과가 쌓인다
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (Long postId : postIds) {
+                redis.exists(setKey(postId));
+                redis.sIsMember(setKey(postId), userId);
+            }
+            return null;
+        });
+
+        List<Long> unloaded = new ArrayList<>();
+        for (int i = 0; i < postIds.size(); i++) {
+            boolean loaded = Boolean.TRUE.equals(results.get(i * 2));
+            if (!loaded) {
+                unloaded.add(postIds.get(i));
+            } else if (Boolean.TRUE.equals(results.get(i * 2 + 1))) {
+                liked.add(postIds.get(i));
+            }
+        }
+
+        if (!unloaded.isEmpty()) {
+            liked.addAll(postDAO.getLikedPostIds(userId, unloaded));
+        }
+    }
+
+    /**
+     * 좋아요 수 (Set이 적재되지 않았으면 -1, 호출 측은 DB 값을 그대로 사용)
+     */
+    public long getLikeCount(Long postId) {
+        Long count = stringRedisTemplate.execute(COUNT_SCRIPT, List.of(setKey(postId)));
+        return count != null ? count : -1L;
+    }
+
+    private boolean toggle(Long postId, String userId, String op) {
+        if (userId == null || userId.isEmpty() || LOADED.equals(userId)) {
+            throw new IllegalArgumentException("유효하지 않은 사용자입니다: " + userId);
+        }
+
+        List<String> keys = List.of(setKey(postId), pendingKey(postId), DIRTY_KEY);
+        String ttl = String.valueOf(setTtlMs);
+        String id = String.valueOf(postId);
+        Long changed = stringRedisTemplate.execute(TOGGLE_SCRIPT, keys, userId, op, ttl, id);
+        if (changed == null || changed < 0) {
+            load(postId);
+            changed = stringRedisTemplate.execute(TOGGLE_SCRIPT, keys, userId, op, ttl, id);
+        }
+        return changed != null && changed == 1L;
+    }
+
+    /**
+     * DB에서 좋아요 목록을 읽어 Set 적재
+     */
+    private void load(Long postId) {
+        List<String> userIds = postDAO.getLikeUserIds(postId);
+
+        String[] args = new String[userIds.size() + 1];
+        args[0] = String.valueOf(setTtlMs);
+        for (int i = 0; i < userIds.size(); i++) {
+            args[i + 1] = userIds.get(i);
+        }
+        stringRedisTemplate.execute(LOAD_SCRIPT,
+                List.of(setKey(postId), processingKey(postId), pendingKey(postId)), (Object[]) args);
+    }
+
+    /**
+     * 기동 시 반영되지 않고 남은 pending / processing 해시의 게시글을 반영 대상으로 되돌림
+     * (이미 반영 대상이거나 임대 중인 게시글이 다시 들어가도 CLAIM 스크립트가 걸러냄)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        try {
+            int pending = requeue("post:likes:pending:*");
+            int processing = requeue("post:likes:processing:*");
+            if (pending > 0 || processing > 0) {
+                log.info("좋아요 반영 대상 복구: 대기 {}건, 반영 중 남은 게시글 {}건", pending, processing);
+            }
+        } catch (Exception e) {
+            log.warn("좋아요 반영 대상 복구 실패 (임대 만료 시 다른 노드가 반영): {}", e.getMessage());
+        }
+    }
+
+    private int requeue(String pattern) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(batchSize).build();
+        List<String> postIds = new ArrayList<>();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                postIds.add(key.substring(key.indexOf('{') + 1, key.lastIndexOf('}')));
+            }
+        }
+        if (!postIds.isEmpty()) {
+            stringRedisTemplate.opsForSet().add(DIRTY_KEY, postIds.toArray(String[]::new));
+        }
+        return postIds.size();
+    }
+
+    /**
+     * 쌓인 좋아요 변경분을 D_LIKE / LIKE_CNT에 일괄 반영
+     */
+    @Scheduled(fixedDelayString = "${post.like.flush-interval-ms:3000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        List<?> claimed = stringRedisTemplate.execute(CLAIM_SCRIPT, List.of(DIRTY_KEY, LEASE_KEY),
+                String.valueOf(now), String.valueOf(now + leaseMs), String.valueOf(batchSize));
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        List<Map<String, Object>> adds = new ArrayList<>();
+        List<Map<String, Object>> removes = new ArrayList<>();
+        List<Long> drained = new ArrayList<>();
+        List<String> postIds = new ArrayList<>(claimed.size());
+        for (Object id : claimed) {
+            postIds.add(String.valueOf(id));
+            Long postId = Long.valueOf(String.valueOf(id));
+            List<?> ops = stringRedisTemplate.execute(DRAIN_SCRIPT, List.of(pendingKey(postId), processingKey(postId)));
+            if (ops == null || ops.isEmpty()) {
+                continue;
+            }
+            drained.add(postId);
+            for (int i = 0; i + 1 < ops.size(); i += 2) {
+                Map<String, Object> like = new HashMap<>();
+                like.put("postId", postId);
+                like.put("userId", String.valueOf(ops.get(i)));
+                (ADD.equals(String.valueOf(ops.get(i + 1))) ? adds : removes).add(like);
+            }
+        }
+
+        if (drained.isEmpty()) {
+            releaseLeases(postIds);
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!adds.isEmpty()) {
+                    postDAO.insertLikes(adds);
+                }
+                if (!removes.isEmpty()) {
+                    postDAO.deleteLikes(removes);
+                }
+                postDAO.syncLikeCounts(drained);
+            });
+
+            // 반영 완료된 processing 해시 정리
+            List<String> processingKeys = new ArrayList<>(drained.size());
+            for (Long postId : drained) {
+                processingKeys.add(processingKey(postId));
+            }
+            stringRedisTemplate.delete(processingKeys);
+            flushedOps.increment(adds.size() + removes.size());
+        } catch (Exception e) {
+            // processing 해시는 그대로 두고 다음 주기에 다시 반영
+            log.error("좋아요 일괄 반영 실패, 다음 주기에 재시도: {}건, {}", drained.size(), e.getMessage());
+            flushFailures.increment(drained.size());
+            stringRedisTemplate.opsForSet().add(DIRTY_KEY,
+                    drained.stream().map(String::valueOf).toArray(String[]::new));
+        }
+        releaseLeases(postIds);
+
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.debug("좋아요 일괄 반영 완료: 게시글 {}건, 추가 {}건, 삭제 {}건",
+                drained.size(), adds.size(), removes.size());
+    }
+
+    /**
+     * 종료 시 남은 변경분 반영 (남은 것은 임대 만료 후 다른 노드 또는 다음 기동 시 반영)
+     */
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("종료 전 좋아요 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    private void releaseLeases(List<String> postIds) {
+        stringRedisTemplate.opsForZSet().remove(LEASE_KEY, postIds.toArray());
+    }
+
+    private static String setKey(Long postId) {
+        return "post:likes:{" + postId + "}";
+    }
+
+    private static String pendingKey(Long postId) {
+        return "post:likes:pending:{" + postId + "}";
+    }
+
+    private static String processingKey(Long postId) {
+        return "post:likes:processing:{" + postId + "}";
+    }
+}
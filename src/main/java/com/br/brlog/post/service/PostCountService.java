@@ -0,0 +1,288 @@
+package com.br.brlog.post.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.br.brlog.post.dao.PostDAO;
+import com.br.brlog.post.dto.PostDTO;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시글 전체 건수 관리
+ * 카테고리별 활성 게시글 수를 메모리에 두고 저장/삭제 시 증감하며, 주기적으로 DB와 맞춘다.
+ * 검색 건수는 상한(cap)까지만 세는 "최소 N건" 추정치를 짧게 캐싱한다.
+ */
+@Slf4j
+@Service
+public class PostCountService {
+
+    private final PostDAO postDAO;
+
+    // 재집계용 트랜잭션 (집계 쿼리와 변경 게시글 조회가 같은 스냅샷을 보도록 REPEATABLE READ)
+    private final TransactionTemplate snapshotTemplate;
+
+    // 카테고리별 활성 게시글 수 (재집계 시 새로 만든 값으로 교체)
+    private volatile Counts counts;
+
+    // 증감 반영과 재집계 결과 교체를 직렬화 (증감끼리는 동시에 반영)
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    // 재집계 중에 반영된 변경 (재집계 중이 아니면 null)
+    private volatile Queue<Change> recording;
+
+    // 검색어별 건수 캐시 (LRU)
+    private final Map<String, SearchCount> searchCounts = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Value("${post.count.search-limit:1000}")
+    private int searchCountLimit;
+
+    @Value("${post.count.search-cache-size:1000}")
+    private int searchCacheSize;
+
+    @Value("${post.count.search-cache-ttl-ms:60000}")
+    private long searchCacheTtlMs;
+
+    public PostCountService(PostDAO postDAO, PlatformTransactionManager transactionManager) {
+        this.postDAO = postDAO;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTemplate.setReadOnly(true);
+    }
+
+    /**
+     * 기동 시 DB에서 건수 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        reconcile();
+    }
+
+    /**
+     * 카테고리의 활성 게시글 수 (카테고리가 없으면 전체)
+     */
+    public long getActiveCount(String categoryId) {
+        Counts current = loadedCounts();
+        if (categoryId == null || categoryId.isEmpty()) {
+            return current.total.get();
+        }
+        AtomicLong count = current.byCategory.get(categoryId);
+        return count != null ? count.get() : 0L;
+    }
+
+    /**
+     * 게시글 등록 반영
+     */
+    public void increment(String categoryId, Long postId) {
+        apply(new Change(postId, key(categoryId), true), current -> current.add(key(categoryId), 1));
+    }
+
+    /**
+     * 게시글 삭제 반영
+     */
+    public void decrement(String categoryId, Long postId) {
+        apply(new Change(postId, null, false), current -> current.add(key(categoryId), -1));
+    }
+
+    /**
+     * 게시글 카테고리 변경 반영
+     */
+    public void move(String fromCategoryId, String toCategoryId, Long postId) {
+        if (key(fromCategoryId).equals(key(toCategoryId))) {
+            return;
+        }
+        apply(new Change(postId, key(toCategoryId), true), current -> {
+            current.add(key(fromCategoryId), -1);
+            current.add(key(toCategoryId), 1);
+        });
+    }
+
+    /**
+     * 검색 결과 건수 (상한까지만 센다)
+     * 현재 페이지 다음이 있는지 알 수 있도록 상한은 최소 offset + size + 1 이상으로 잡는다.
+     */
+    public SearchCount getSearchCount(String keyword, int offset, int size) {
+        int cap = Math.max(searchCountLimit, offset + size + 1);
+        long now = System.currentTimeMillis();
+
+        synchronized (searchCounts) {
+            SearchCount cached = searchCounts.get(keyword);
+            if (cached != null && cached.expiresAt > now && (cached.exact || cached.count >= cap)) {
+                return cached;
+            }
+        }
+
+        long count = postDAO.countSearchPostsUpTo(keyword, cap);
+        SearchCount result = new SearchCount(count, count < cap, now + searchCacheTtlMs);
+
+        synchronized (searchCounts) {
+            searchCounts.put(keyword, result);
+            if (searchCounts.size() > searchCacheSize) {
+                String eldest = searchCounts.keySet().iterator().next();
+                searchCounts.remove(eldest);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 검색 건수 캐시 비우기 (게시글 변경 시)
+     */
+    public void clearSearchCounts() {
+        synchronized (searchCounts) {
+            searchCounts.clear();
+        }
+    }
+
+    /**
+     * DB 기준으로 카테고리별 건수 재집계
+     * 집계 결과로 새 건수를 만들어 통째로 교체한다. 집계 쿼리 중에 반영된 증감은 따로 기록해 두었다가,
+     * 같은 스냅샷에서 해당 게시글의 상태를 다시 읽어 스냅샷에 빠진 변경만 새 건수에 더한다.
+     */
+    @Scheduled(fixedDelayString = "${post.count.reconcile-interval-ms:600000}",
+               initialDelayString = "${post.count.reconcile-interval-ms:600000}")
+    public synchronized void reconcile() {
+        Queue<Change> changes = new ConcurrentLinkedQueue<>();
+        // 이후에 반영되는 증감은 커밋이 집계 스냅샷보다 늦을 수 있으므로 기록
+        recording = changes;
+        try {
+            snapshotTemplate.executeWithoutResult(status -> {
+                Counts fresh = new Counts();
+                for (Map<String, Object> row : postDAO.countActivePostsByCategory()) {
+                    fresh.add(key((String) row.get("categoryId")), ((Number) row.get("cnt")).longValue());
+                }
+
+                // 스냅샷 기준 게시글 상태 (잠금 밖에서 먼저 읽고, 교체 직전에 새로 들어온 것만 추가로 읽는다)
+                Map<Long, Change> latest = new LinkedHashMap<>();
+                Map<Long, PostDTO> snapshot = new HashMap<>();
+                readSnapshot(changes, latest, snapshot);
+
+                swapLock.writeLock().lock();
+                try {
+                    readSnapshot(changes, latest, snapshot);
+                    latest.forEach((postId, change) -> {
+                        PostDTO post = snapshot.get(postId);
+                        if (post != null && "A".equals(post.getStatus())) {
+                            fresh.add(key(post.getCategoryId()), -1);
+                        }
+                        if (change.active) {
+                            fresh.add(change.categoryId, 1);
+                        }
+                    });
+
+                    Counts current = counts;
+                    if (current != null && current.total.get() != fresh.total.get()) {
+                        log.info("게시글 건수 보정: {} -> {}", current.total.get(), fresh.total.get());
+                    }
+                    counts = fresh;
+                    recording = null;
+                } finally {
+                    swapLock.writeLock().unlock();
+                }
+            });
+        } finally {
+            recording = null;
+        }
+    }
+
+    /**
+     * 기록된 변경을 게시글별 마지막 상태로 모으고, 아직 읽지 않은 게시글의 스냅샷 상태를 읽는다
+     */
+    private void readSnapshot(Queue<Change> changes, Map<Long, Change> latest, Map<Long, PostDTO> snapshot) {
+        List<Long> unread = new ArrayList<>();
+        Change change;
+        while ((change = changes.poll()) != null) {
+            if (latest.put(change.postId, change) == null) {
+                unread.add(change.postId);
+            }
+        }
+        if (!unread.isEmpty()) {
+            for (PostDTO post : postDAO.getPostStates(unread)) {
+                snapshot.put(post.getPostId(), post);
+            }
+        }
+    }
+
+    private void apply(Change change, Consumer<Counts> update) {
+        loadedCounts();
+        swapLock.readLock().lock();
+        try {
+            update.accept(counts);
+            Queue<Change> current = recording;
+            if (current != null) {
+                current.add(change);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private Counts loadedCounts() {
+        Counts current = counts;
+        if (current == null) {
+            synchronized (this) {
+                if (counts == null) {
+                    reconcile();
+                }
+                current = counts;
+            }
+        }
+        return current;
+    }
+
+    private static String key(String categoryId) {
+        return categoryId != null ? categoryId : "";
+    }
+
+    private static class Counts {
+        private final ConcurrentHashMap<String, AtomicLong> byCategory = new ConcurrentHashMap<>();
+        private final AtomicLong total = new AtomicLong();
+
+        private void add(String categoryId, long delta) {
+            byCategory.computeIfAbsent(categoryId, k -> new AtomicLong()).addAndGet(delta);
+            total.addAndGet(delta);
+        }
+    }
+
+    /**
+     * 재집계 중에 반영된 변경 (반영 후 게시글 상태: active면 categoryId의 활성 게시글)
+     */
+    @AllArgsConstructor
+    private static class Change {
+        private final Long postId;
+        private final String categoryId;
+        private final boolean active;
+    }
+
+    /**
+     * 검색 건수 (exact가 false면 count건 "이상")
+     */
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class SearchCount {
+        private final long count;
+        private final boolean exact;
+        private final long expiresAt;
+    }
+}
@@ -0,0 +1,306 @@
+package com.br.brlog.post.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import com.br.brlog.post.dto.PostDTO;
+import com.br.brlog.user.event.UserProfileUpdatedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시글 상세 2단 캐시
+ * - L1: 노드 로컬 Caffeine (크기/TTL 제한)
+ * - L2: Redis (post:detail:{postId}, 조회수는 본문과 분리해 post:detail:views:{postId})
+ * 변경 시 L1/L2를 비우고 pub/sub으로 다른 노드의 L1도 비운다.
+ * 무효화할 때마다 post:detail:version:{postId}를 올리고, DB에서 읽기 전에 본 버전이 그대로일 때만 L2에 저장한다
+ * (읽는 도중 커밋된 변경이 무효화된 뒤 이전 내용이 다시 저장되는 것을 막는다).
+ * 조회수 반영은 L2 본문을 비우지 않고 조회수 키에만 더한다.
+ * 캐시된 객체가 호출 측에서 변경되지 않도록 항상 복사본을 반환한다.
+ */
+@Slf4j
+@Service
+public class PostDetailCache {
+
+    private static final String KEY_PREFIX = "post:detail:";
+    private static final String VIEWS_KEY_PREFIX = "post:detail:views:";
+    private static final String VERSION_KEY_PREFIX = "post:detail:version:";
+    private static final String AUTHOR_KEY_PREFIX = "post:detail:author:";
+    private static final String CHANNEL = "post:detail:invalidate";
+    private static final String POST_MESSAGE = "post:";
+    private static final String USER_MESSAGE = "user:";
+
+    // 무효화된 적 없는 게시글의 버전
+    private static final String NO_VERSION = "0";
+
+    // 읽기 전 버전이 그대로일 때만 본문/조회수 저장
+    // KEYS: 본문, 조회수, 버전 / ARGV: 읽기 전 버전, 본문, 조회수, TTL(ms)
+    private static final RedisScript<Long> STORE_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[3]) or '" + NO_VERSION + "') ~= ARGV[1] then return 0 end\n"
+          + "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[4])\n"
+          + "redis.call('SET', KEYS[2], ARGV[3], 'PX', ARGV[4])\n"
+          + "return 1",
+            Long.class);
+
+    // 게시글별 (본문, 조회수, 버전) 키를 받아 본문/조회수 삭제 후 버전 증가 - 삭제된 본문 수 반환
+    private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>(
+            "local removed = 0\n"
+          + "for i = 1, #KEYS, 3 do\n"
+          + "  removed = removed + redis.call('DEL', KEYS[i])\n"
+          + "  redis.call('DEL', KEYS[i + 1])\n"
+          + "  redis.call('INCR', KEYS[i + 2])\n"
+          + "  redis.call('PEXPIRE', KEYS[i + 2], ARGV[1])\n"
+          + "end\n"
+          + "return removed",
+            Long.class);
+
+    // 캐시된 조회수에만 반영분을 더한다 (없으면 다음 조회 때 DB에서 읽음)
+    private static final RedisScript<Long> ADD_VIEWS_SCRIPT = new DefaultRedisScript<>(
+            "for i = 1, #KEYS do\n"
+          + "  if redis.call('EXISTS', KEYS[i]) == 1 then redis.call('INCRBY', KEYS[i], ARGV[i]) end\n"
+          + "end\n"
+          + "return 0",
+            Long.class);
+
+    // L2 본문 직렬화 (RedisTemplate과 같은 형식)
+    private final RedisSerializer<Object> valueSerializer;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final Cache<Long, PostDTO> localCache;
+    private final Duration redisTtl;
+
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter l2Errors;
+    private final Counter l2Evictions;
+
+    public PostDetailCache(RedisTemplate<String, Object> redisTemplate,
+                           StringRedisTemplate stringRedisTemplate,
+                           RedisMessageListenerContainer listenerContainer,
+                           MeterRegistry meterRegistry,
+                           @Value("${post.cache.local-max-size:10000}") long localMaxSize,
+                           @Value("${post.cache.local-ttl-ms:60000}") long localTtlMs,
+                           @Value("${post.cache.redis-ttl-ms:600000}") long redisTtlMs) {
+        this.valueSerializer = valueSerializer(redisTemplate);
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.redisTtl = Duration.ofMillis(redisTtlMs);
+
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofMillis(localTtlMs))
+                .recordStats()
+                .build();
+        // cache.gets / cache.puts / cache.evictions {cache=post.detail.l1}
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "post.detail.l1");
+
+        this.l2Hits = l2Counter(meterRegistry, "cache.gets", "result", "hit");
+        this.l2Misses = l2Counter(meterRegistry, "cache.gets", "result", "miss");
+        this.l2Errors = l2Counter(meterRegistry, "cache.errors", null, null);
+        this.l2Evictions = l2Counter(meterRegistry, "cache.evictions", null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RedisSerializer<Object> valueSerializer(RedisTemplate<String, Object> redisTemplate) {
+        return (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+    }
+
+    private static Counter l2Counter(MeterRegistry meterRegistry, String name, String tagKey, String tagValue) {
+        Counter.Builder builder = Counter.builder(name).tag("cache", "post.detail.l2");
+        if (tagKey != null) {
+            builder.tag(tagKey, tagValue);
+        }
+        return builder.register(meterRegistry);
+    }
+
+    /**
+     * 다른 노드의 무효화 메시지 구독
+     */
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 게시글 상세 조회 (L1 -> L2 -> loader 순서, 없는 게시글은 캐싱하지 않음)
+     */
+    public PostDTO get(Long postId, Function<Long, PostDTO> loader) {
+        PostDTO cached = localCache.get(postId, key -> loadFromRedis(key, loader));
+        return cached != null ? copy(cached) : null;
+    }
+
+    /**
+     * 게시글 캐시 무효화 (모든 노드)
+     */
+    public void evict(Long postId) {
+        localCache.invalidate(postId);
+        try {
+            evictRedis(List.of(String.valueOf(postId)));
+            stringRedisTemplate.convertAndSend(CHANNEL, POST_MESSAGE + postId);
+        } catch (Exception e) {
+            l2Errors.increment();
+            log.error("게시글 캐시 무효화 실패: postId={}, {}", postId, e.getMessage());
+        }
+    }
+
+    /**
+     * 작성자 정보가 바뀌면 해당 작성자의 게시글 캐시 무효화 (모든 노드)
+     */
+    @EventListener
+    public void onUserProfileUpdated(UserProfileUpdatedEvent event) {
+        String userId = event.getUserId();
+        evictLocalByAuthor(userId);
+        try {
+            String authorKey = AUTHOR_KEY_PREFIX + userId;
+            Set<String> postIds = stringRedisTemplate.opsForSet().members(authorKey);
+            if (postIds != null && !postIds.isEmpty()) {
+                evictRedis(postIds);
+            }
+            stringRedisTemplate.delete(authorKey);
+            stringRedisTemplate.convertAndSend(CHANNEL, USER_MESSAGE + userId);
+        } catch (Exception e) {
+            l2Errors.increment();
+            log.error("작성자 게시글 캐시 무효화 실패: userId={}, {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 조회수 반영분을 로컬 캐시와 Redis 조회수 키에 더한다 (본문 캐시는 그대로 둔다)
+     * 조회 때마다가 아니라 조회수 일괄 반영 주기마다 한 번만 호출된다.
+     */
+    public void applyViewCounts(Map<Long, Long> deltas) {
+        List<String> keys = new ArrayList<>(deltas.size());
+        List<String> values = new ArrayList<>(deltas.size());
+        for (Map.Entry<Long, Long> delta : deltas.entrySet()) {
+            localCache.asMap().computeIfPresent(delta.getKey(), (postId, cached) -> {
+                PostDTO updated = copy(cached);
+                updated.setViewCnt(cached.getViewCnt() + delta.getValue().intValue());
+                return updated;
+            });
+            keys.add(VIEWS_KEY_PREFIX + delta.getKey());
+            values.add(String.valueOf(delta.getValue()));
+        }
+
+        try {
+            stringRedisTemplate.execute(ADD_VIEWS_SCRIPT, keys, values.toArray());
+        } catch (Exception e) {
+            l2Errors.increment();
+            log.error("조회수 Redis 캐시 반영 실패: {}건, {}", keys.size(), e.getMessage());
+        }
+    }
+
+    private void evictRedis(Collection<String> postIds) {
+        List<String> keys = new ArrayList<>(postIds.size() * 3);
+        for (String postId : postIds) {
+            keys.add(KEY_PREFIX + postId);
+            keys.add(VIEWS_KEY_PREFIX + postId);
+            keys.add(VERSION_KEY_PREFIX + postId);
+        }
+        Long removed = stringRedisTemplate.execute(EVICT_SCRIPT, keys, String.valueOf(redisTtl.toMillis()));
+        if (removed != null && removed > 0) {
+            l2Evictions.increment(removed);
+        }
+    }
+
+    private PostDTO loadFromRedis(Long postId, Function<Long, PostDTO> loader) {
+        // Redis를 읽지 못하면 버전을 알 수 없으므로 L2에 저장하지 않는다
+        String version = null;
+        try {
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(
+                    List.of(KEY_PREFIX + postId, VIEWS_KEY_PREFIX + postId, VERSION_KEY_PREFIX + postId));
+            if (values != null) {
+                version = values.get(2) != null ? values.get(2) : NO_VERSION;
+                Object body = values.get(0) != null
+                        ? valueSerializer.deserialize(values.get(0).getBytes(StandardCharsets.UTF_8))
+                        : null;
+                if (body instanceof PostDTO && values.get(1) != null) {
+                    l2Hits.increment();
+                    PostDTO post = (PostDTO) body;
+                    post.setViewCnt(Integer.parseInt(values.get(1)));
+                    return post;
+                }
+            }
+            l2Misses.increment();
+        } catch (Exception e) {
+            l2Errors.increment();
+            log.warn("게시글 Redis 캐시 조회 실패, DB 조회: postId={}, {}", postId, e.getMessage());
+        }
+
+        PostDTO post = loader.apply(postId);
+        if (post != null && version != null) {
+            store(postId, post, version);
+        }
+        return post;
+    }
+
+    private void store(Long postId, PostDTO post, String version) {
+        try {
+            // 조회수는 본문과 따로 저장
+            PostDTO body = copy(post);
+            body.setViewCnt(0);
+            String json = new String(valueSerializer.serialize(body), StandardCharsets.UTF_8);
+
+            Long stored = stringRedisTemplate.execute(STORE_SCRIPT,
+                    List.of(KEY_PREFIX + postId, VIEWS_KEY_PREFIX + postId, VERSION_KEY_PREFIX + postId),
+                    version, json, String.valueOf(post.getViewCnt()), String.valueOf(redisTtl.toMillis()));
+            // 작성자 프로필 변경 시 무효화할 수 있도록 작성자별 게시글 목록 보관
+            if (Long.valueOf(1L).equals(stored) && post.getUserId() != null) {
+                String authorKey = AUTHOR_KEY_PREFIX + post.getUserId();
+                stringRedisTemplate.opsForSet().add(authorKey, String.valueOf(postId));
+                stringRedisTemplate.expire(authorKey, redisTtl);
+            }
+        } catch (Exception e) {
+            l2Errors.increment();
+            log.warn("게시글 Redis 캐시 저장 실패: postId={}, {}", postId, e.getMessage());
+        }
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody());
+        if (body.startsWith(POST_MESSAGE)) {
+            try {
+                localCache.invalidate(Long.valueOf(body.substring(POST_MESSAGE.length())));
+            } catch (NumberFormatException e) {
+                log.warn("알 수 없는 게시글 캐시 무효화 메시지: {}", body);
+            }
+        } else if (body.startsWith(USER_MESSAGE)) {
+            evictLocalByAuthor(body.substring(USER_MESSAGE.length()));
+        }
+    }
+
+    private void evictLocalByAuthor(String userId) {
+        localCache.asMap().values().removeIf(post -> userId.equals(post.getUserId()));
+    }
+
+    private static PostDTO copy(PostDTO source) {
+        PostDTO target = new PostDTO();
+        BeanUtils.copyProperties(source, target);
+        return target;
+    }
+}
@@ -1,23 +1,38 @@
 package com.br.brlog.post.service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.br.brlog.common.TransactionCallbacks;
 import com.br.brlog.notification.service.NotificationService;
 import com.br.brlog.post.dao.PostDAO;
+import com.br.brlog.post.dto.CategoryCatalog;
 import com.br.brlog.post.dto.CategoryDTO;
 import com.br.brlog.post.dto.CommentDTO;
 import com.br.brlog.post.dto.ContributorDTO;
+import com.br.brlog.post.dto.PostCursor;
 import com.br.brlog.post.dto.PostDTO;
+import com.br.brlog.post.search.PostSearchIndex;
 import com.br.brlog.user.dto.UserDTO;
 import com.br.brlog.user.service.UserService;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
@@ -28,33 +43,132 @@ import reactor.core.scheduler.Schedulers;
 @RequiredArgsConstructor
 public class PostService {
     
+    // 카테고리 재적재 신호 채널 (다른 노드도 함께 재적재)
+    private static final String CATEGORY_RELOAD_CHANNEL = "post:categories:reload";
+    
     private final PostDAO postDAO;
     private final NotificationService notificationService;
     private final UserService userService;
+    private final ViewCountService viewCountService;
+    private final PostCountService postCountService;
+    private final PostSearchIndex postSearchIndex;
+    private final PostDetailCache postDetailCache;
+    private final LikeService likeService;
+    private final ContributorLeaderboard contributorLeaderboard;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    
+    // 카테고리 스냅샷 (재적재 시 통째로 교체)
+    private volatile CategoryCatalog categoryCatalog;
+    
+    /**
+     * 카테고리 재적재 신호 구독
+     */
+    @PostConstruct
+    public void subscribeCategoryReload() {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                loadCategories();
+            } catch (Exception e) {
+                log.error("카테고리 재적재 실패: {}", e.getMessage());
+            }
+        }, new ChannelTopic(CATEGORY_RELOAD_CHANNEL));
+    }
+    
+    /**
+     * 기동 시 카테고리 미리 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadCategories() {
+        loadCategories();
+    }
     
     /**
      * 게시글 목록 조회
      */
     public Map<String, Object> getPosts(String categoryId, int offset, int size, String sortBy) {
+        validateCategory(categoryId);
         List<PostDTO> posts = postDAO.getPosts(categoryId, offset, size, sortBy);
+        markLikedByMe(posts);
         
         Map<String, Object> result = new HashMap<>();
         result.put("posts", posts);
-        result.put("totalCount", posts.size()); // 실제로는 전체 갯수를 가져오는 별도 쿼리 필요
+        result.put("totalCount", postCountService.getActiveCount(categoryId));
         
         return result;
     }
     
+    /**
+     * 게시글 목록 조회 (keyset 페이징)
+     * cursor가 비어 있으면 첫 페이지를 조회한다.
+     */
+    public Map<String, Object> getPostsByCursor(String categoryId, String cursor, int size, String sortBy) {
+        validateCategory(categoryId);
+        String sortKey = PostCursor.toSortKey(sortBy);
+        PostCursor after = PostCursor.decode(cursor, sortKey);
+        
+        // 다음 페이지 존재 여부 확인을 위해 1건 더 조회
+        List<PostDTO> posts = postDAO.getPostsByCursor(categoryId, after, size + 1, sortKey);
+        String nextCursor = trimToPage(posts, size, sortKey);
+        markLikedByMe(posts);
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("posts", posts);
+        result.put("totalCount", postCountService.getActiveCount(categoryId));
+        result.put("nextCursor", nextCursor);
+        
+        return result;
+    }
+    
+    /**
+     * 로그인 사용자면 목록의 각 게시글에 좋아요 여부 표시 (Redis 파이프라인 1회)
+     */
+    private void markLikedByMe(List<PostDTO> posts) {
+        String userId = currentUserId();
+        if (userId == null || posts.isEmpty()) {
+            return;
+        }
+        
+        List<Long> postIds = posts.stream().map(PostDTO::getPostId).collect(Collectors.toList());
+        Set<Long> liked = likeService.getLikedPostIds(postIds, userId);
+        for (PostDTO post : posts) {
+            post.setLikedByMe(liked.contains(post.getPostId()));
+        }
+    }
+    
+    /**
+     * 현재 인증된 사용자 ID (비로그인이면 null)
+     */
+    private String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+    
     /**
      * 게시글 상세 조회
      */
-    @Transactional
     public PostDTO getPost(Long postId) {
-        // 조회수 증가
-        postDAO.incrementViewCount(postId);
+        // 게시글 조회 (로컬 캐시 -> Redis -> DB)
+        PostDTO post = postDetailCache.get(postId, postDAO::getPost);
+        if (post == null) {
+            return null;
+        }
+        
+        // 조회수 증가 (메모리에 누적 후 주기적으로 DB 반영)
+        viewCountService.increment(postId);
+        post.setViewCnt(post.getViewCnt() + (int) viewCountService.getPendingCount(postId));
+        
+        // 좋아요 수는 Redis 기준 (DB 반영 전 변경분 포함)
+        long likeCnt = likeService.getLikeCount(postId);
+        if (likeCnt >= 0) {
+            post.setLikeCnt((int) likeCnt);
+        }
         
-        // 게시글 조회
-        return postDAO.getPost(postId);
+        return post;
     }
     
     /**
@@ -70,6 +184,19 @@ public class PostService {
         post.setUserId(userId);
         
         postDAO.savePost(post);
+        
+        // 커밋 후 건수 반영
+        String categoryId = post.getCategoryId();
+        Long postId = post.getPostId();
+        String title = post.getTitle();
+        String content = post.getContent();
+        TransactionCallbacks.afterCommit(() -> {
+            postCountService.increment(categoryId, postId);
+            postCountService.clearSearchCounts();
+            postSearchIndex.index(postId, title, content);
+            contributorLeaderboard.increment(userId);
+        });
+        
         return post; // insert 후 생성된 ID가 post 객체에 설정됨
     }
     
@@ -78,7 +205,24 @@ public class PostService {
      */
     @Transactional
     public PostDTO updatePost(PostDTO post) {
+        PostDTO before = postDAO.getPost(post.getPostId());
         postDAO.updatePost(post);
+        
+        // 카테고리가 바뀐 경우 커밋 후 건수 이동, 검색 색인 갱신
+        if (before != null) {
+            String fromCategoryId = before.getCategoryId();
+            String toCategoryId = post.getCategoryId();
+            Long postId = post.getPostId();
+            String title = post.getTitle();
+            String content = post.getContent();
+            TransactionCallbacks.afterCommit(() -> {
+                postCountService.move(fromCategoryId, toCategoryId, postId);
+                postCountService.clearSearchCounts();
+                postSearchIndex.index(postId, title, content);
+                postDetailCache.evict(postId);
+            });
+        }
+        
         return postDAO.getPost(post.getPostId());
     }
     
@@ -87,37 +231,35 @@ public class PostService {
      */
     @Transactional
     public void deletePost(Long postId) {
-        postDAO.deletePost(postId);
+        PostDTO before = postDAO.getPost(postId);
+        
+        // 실제로 활성 -> 삭제로 바뀐 경우에만 커밋 후 건수 감소
+        if (postDAO.deletePost(postId) > 0 && before != null) {
+            String categoryId = before.getCategoryId();
+            String userId = before.getUserId();
+            String regDt = before.getRegDt();
+            TransactionCallbacks.afterCommit(() -> {
+                postCountService.decrement(categoryId, postId);
+                postCountService.clearSearchCounts();
+                postSearchIndex.remove(postId);
+                postDetailCache.evict(postId);
+                contributorLeaderboard.decrement(userId, regDt);
+            });
+        }
     }
     
     /**
-     * 게시글 좋아요 추가
+     * 게시글 좋아요 추가 (Redis에 즉시 반영, DB는 주기적으로 일괄 반영)
      */
-    @Transactional
     public boolean addLike(Long postId, String userId) {
-        // 이미 좋아요가 있는지 확인
-        if (postDAO.checkLike(postId, userId)) {
-            return false;
-        }
-        
-        postDAO.addLike(postId, userId);
-        postDAO.incrementLikeCount(postId);
-        return true;
+        return likeService.addLike(postId, userId);
     }
     
     /**
-     * 게시글 좋아요 삭제
+     * 게시글 좋아요 삭제 (Redis에 즉시 반영, DB는 주기적으로 일괄 반영)
      */
-    @Transactional
     public boolean removeLike(Long postId, String userId) {
-        // 좋아요가 있는지 확인
-        if (!postDAO.checkLike(postId, userId)) {
-            return false;
-        }
-        
-        postDAO.removeLike(postId, userId);
-        postDAO.decrementLikeCount(postId);
-        return true;
+        return likeService.removeLike(postId, userId);
     }
     
     /**
@@ -142,6 +284,7 @@ public class PostService {
     	// 1. 댓글 저장
         postDAO.saveComment(comment);
         postDAO.incrementCommentCount(comment.getPostId());
+        TransactionCallbacks.afterCommit(() -> postDetailCache.evict(comment.getPostId()));
         
         // 2. 댓글 알림 처리 - 비동기적으로 처리하여 응답 시간에 영향 없도록 함
         Mono.fromRunnable(() -> {
@@ -173,36 +316,218 @@ public class PostService {
     public void deleteComment(Long commentId, Long postId) {
     	postDAO.deleteComment(commentId);
         postDAO.decreaseCommentCount(postId);
+        postDetailCache.evict(postId);
 	}
     
     /**
-     * 카테고리 목록 조회
+     * 카테고리 목록 조회 (메모리 스냅샷)
      */
     public List<CategoryDTO> getCategories() {
-        return postDAO.getCategories();
+        return getCategoryCatalog().getCategories();
+    }
+    
+    /**
+     * 카테고리 스냅샷 (목록 + ETag)
+     */
+    public CategoryCatalog getCategoryCatalog() {
+        CategoryCatalog current = categoryCatalog;
+        if (current == null) {
+            synchronized (this) {
+                if (categoryCatalog == null) {
+                    loadCategories();
+                }
+                current = categoryCatalog;
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * 카테고리 재적재 후 다른 노드에도 신호 전파
+     */
+    public CategoryCatalog reloadCategories() {
+        CategoryCatalog reloaded = loadCategories();
+        try {
+            stringRedisTemplate.convertAndSend(CATEGORY_RELOAD_CHANNEL, reloaded.getEtag());
+        } catch (Exception e) {
+            log.error("카테고리 재적재 신호 전파 실패: {}", e.getMessage());
+        }
+        return reloaded;
+    }
+    
+    /**
+     * 현재 사용자가 관리자인지 확인
+     */
+    public boolean isCurrentUserAdmin() {
+        String userId = currentUserId();
+        if (userId == null) {
+            return false;
+        }
+        UserDTO user = userService.findByUserId(userId);
+        return user != null && "ADMIN".equals(user.getUserLevel());
+    }
+    
+    private CategoryCatalog loadCategories() {
+        CategoryCatalog loaded = new CategoryCatalog(postDAO.getCategories());
+        CategoryCatalog previous = categoryCatalog;
+        categoryCatalog = loaded;
+        if (previous == null || !previous.getEtag().equals(loaded.getEtag())) {
+            log.info("카테고리 적재: {}건, ETag={}", loaded.getCategories().size(), loaded.getEtag());
+        }
+        return loaded;
+    }
+    
+    /**
+     * 존재하지 않는 카테고리로 조회하면 IllegalArgumentException
+     */
+    private void validateCategory(String categoryId) {
+        if (categoryId == null || categoryId.isEmpty()) {
+            return;
+        }
+        if (!getCategoryCatalog().contains(categoryId)) {
+            throw new IllegalArgumentException("존재하지 않는 카테고리입니다: " + categoryId);
+        }
     }
     
     /**
-     * 기여자 목록 조회
+     * 기여자 목록 조회 (period: all, weekly, monthly)
      */
-    public List<ContributorDTO> getContributors() {
-        return postDAO.getContributors();
+    public List<ContributorDTO> getContributors(String period, int limit) {
+        return contributorLeaderboard.getTop(period, limit);
     }
     
     /**
      * 게시글 검색
+     * 검색 색인이 준비되어 있으면 BM25 순위로, 아니면(또는 색인으로 찾을 수 없는 검색어면) MySQL LIKE 검색으로 조회한다.
      */
     public Map<String, Object> searchPosts(String keyword, int offset, int size) {
+        if (postSearchIndex.isReady() && postSearchIndex.canAnswer(keyword)) {
+            List<PostSearchIndex.Hit> hits = postSearchIndex.search(keyword);
+            int from = Math.min(Math.max(offset, 0), hits.size());
+            int to = Math.min(from + size, hits.size());
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("posts", getPostsInOrder(hits.subList(from, to)));
+            result.put("totalCount", (long) hits.size());
+            result.put("totalCountExact", true);
+            result.put("keyword", keyword);
+            return result;
+        }
+        
         List<PostDTO> posts = postDAO.searchPosts(keyword, offset, size);
+        PostCountService.SearchCount count = postCountService.getSearchCount(keyword, offset, size);
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("posts", posts);
+        result.put("totalCount", count.getCount());
+        result.put("totalCountExact", count.isExact()); // false면 totalCount건 "이상"
+        result.put("keyword", keyword);
+        
+        return result;
+    }
+    
+    /**
+     * 게시글 검색 (keyset 페이징)
+     */
+    public Map<String, Object> searchPostsByCursor(String keyword, String cursor, int size) {
+        if (postSearchIndex.isReady() && postSearchIndex.canAnswer(keyword)) {
+            PostCursor after = PostCursor.decode(cursor);
+            // 색인 준비 전에 받은 최신순 커서로 이어서 요청하면 첫 페이지부터 다시 내려준다
+            if (after != null && !PostCursor.SCORE.equals(after.getSortKey())) {
+                after = null;
+            }
+            return searchIndexByCursor(keyword, after, size);
+        }
+        
+        String sortKey = PostCursor.toSortKey(null);
+        PostCursor after = PostCursor.decode(cursor, sortKey);
+        
+        List<PostDTO> posts = postDAO.searchPostsByCursor(keyword, after, size + 1);
+        String nextCursor = trimToPage(posts, size, sortKey);
+        PostCountService.SearchCount count = postCountService.getSearchCount(keyword, 0, size);
         
         Map<String, Object> result = new HashMap<>();
         result.put("posts", posts);
-        result.put("totalCount", posts.size()); // 실제로는 전체 갯수를 가져오는 별도 쿼리 필요
+        result.put("totalCount", count.getCount());
+        result.put("totalCountExact", count.isExact()); // false면 totalCount건 "이상"
         result.put("keyword", keyword);
+        result.put("nextCursor", nextCursor);
         
         return result;
     }
     
+    /**
+     * 검색 색인 결과를 커서 이후부터 size건 조회
+     * 순서는 (점수 내림차순, POST_ID 내림차순)이며 커서는 마지막 결과의 (점수, POST_ID)이다.
+     */
+    private Map<String, Object> searchIndexByCursor(String keyword, PostCursor after, int size) {
+        List<PostSearchIndex.Hit> hits = postSearchIndex.search(keyword);
+        
+        int from = 0;
+        if (after != null) {
+            double afterScore = Double.parseDouble(after.getSortValue());
+            long afterPostId = after.getPostId();
+            while (from < hits.size()) {
+                PostSearchIndex.Hit hit = hits.get(from);
+                int cmp = Double.compare(hit.getScore(), afterScore);
+                if (cmp < 0 || (cmp == 0 && hit.getPostId() < afterPostId)) {
+                    break;
+                }
+                from++;
+            }
+        }
+        int to = Math.min(from + size, hits.size());
+        List<PostSearchIndex.Hit> page = hits.subList(from, to);
+        
+        String nextCursor = null;
+        if (to < hits.size() && !page.isEmpty()) {
+            PostSearchIndex.Hit last = page.get(page.size() - 1);
+            nextCursor = PostCursor.ofScore(last.getScore(), last.getPostId()).encode();
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("posts", getPostsInOrder(page));
+        result.put("totalCount", (long) hits.size());
+        result.put("totalCountExact", true);
+        result.put("keyword", keyword);
+        result.put("nextCursor", nextCursor);
+        
+        return result;
+    }
+    
+    /**
+     * 검색 결과 순서대로 게시글 조회 (그사이 삭제된 게시글은 제외)
+     */
+    private List<PostDTO> getPostsInOrder(List<PostSearchIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<Long> postIds = hits.stream().map(PostSearchIndex.Hit::getPostId).collect(Collectors.toList());
+        Map<Long, PostDTO> byId = postDAO.getPostsByIds(postIds).stream()
+                .collect(Collectors.toMap(PostDTO::getPostId, Function.identity()));
+        
+        List<PostDTO> posts = new ArrayList<>(postIds.size());
+        for (Long postId : postIds) {
+            PostDTO post = byId.get(postId);
+            if (post != null) {
+                posts.add(post);
+            }
+        }
+        return posts;
+    }
+    
+    /**
+     * size + 1건 조회 결과를 size건으로 자르고 다음 페이지 커서 반환 (마지막 페이지면 null)
+     */
+    private String trimToPage(List<PostDTO> posts, int size, String sortKey) {
+        if (posts.size() <= size) {
+            return null;
+        }
+        posts.remove(posts.size() - 1);
+        return PostCursor.of(sortKey, posts.get(posts.size() - 1)).encode();
+    }
+    
     /**
      * 작성자 정보 조회
      */
@@ -214,6 +539,14 @@ public class PostService {
      * 게시글 좋아요 상태 확인
      */
     public boolean checkLikeStatus(Long postId, String userId) {
-        return postDAO.checkLikeStatus(postId, userId);
+        return likeService.isLiked(postId, userId);
+    }
+    
+    /**
+     * 여러 게시글의 좋아요 상태 일괄 확인 (userId가 없으면 로그인 사용자 기준, 최대 건수 제한)
+     */
+    public Set<Long> getLikedPostIds(List<Long> postIds, String userId) {
+        String targetUserId = userId != null ? userId : currentUserId();
+        return likeService.checkLikedPostIds(postIds, targetUserId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,224 @@
+package com.br.brlog.post.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.br.brlog.post.dao.PostDAO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 게시글 조회수 write-behind 카운터
+ * 조회 시에는 메모리의 LongAdder만 증가시키고, 주기적으로 D_POST.VIEW_CNT에 일괄 반영한다.
+ * 반영 시 카운터는 제거하지 않고 sumThenReset으로 비우며, 한 주기 동안 조회가 없던 카운터만 정리한다.
+ * 대기 게시글 수가 max-pending-keys(느슨한 한도)를 넘으면 early-flush-min-interval-ms 간격으로만 조기 반영하고,
+ * 그 2배(엄격한 한도)에 이르면 새 게시글의 조회수는 버리고 post.view.dropped로 센다.
+ */
+@Slf4j
+@Service
+public class ViewCountService {
+
+    private final PostDAO postDAO;
+    private final PostDetailCache postDetailCache;
+
+    // postId별 누적 조회수 (아직 DB에 반영되지 않은 값)
+    private final ConcurrentHashMap<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    private final Timer flushTimer;
+    private final Counter flushedViews;
+    private final Counter earlyFlushes;
+    private final Counter droppedViews;
+
+    // 대기 키 한도 초과로 예약된 조기 반영이 있는지
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+
+    // 마지막 조기 반영 예약 시각 (epoch ms)
+    private volatile long lastEarlyFlushAt;
+
+    // 메모리에 보관할 postId 수의 느슨한 한도 (초과 시 비동기로 조기 반영, 2배가 되면 새 게시글 조회수는 버림)
+    @Value("${post.view-count.max-pending-keys:10000}")
+    private int maxPendingKeys;
+
+    // 조기 반영 최소 간격 (한도 근처에서 전체 반영이 연달아 돌지 않도록)
+    @Value("${post.view-count.early-flush-min-interval-ms:1000}")
+    private long earlyFlushMinIntervalMs;
+
+    // 한 번의 UPDATE 문에 담을 최대 게시글 수
+    @Value("${post.view-count.batch-size:500}")
+    private int batchSize;
+
+    public ViewCountService(PostDAO postDAO, PostDetailCache postDetailCache, MeterRegistry meterRegistry) {
+        this.postDAO = postDAO;
+        this.postDetailCache = postDetailCache;
+
+        Gauge.builder("post.view.pending.keys", pendingViews, Map::size)
+                .description("DB 반영 대기 중인 게시글 수")
+                .register(meterRegistry);
+        Gauge.builder("post.view.pending.delta", this, ViewCountService::getPendingDelta)
+                .description("DB 반영 대기 중인 조회수 합계")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("post.view.flush")
+                .description("조회수 일괄 반영 소요 시간")
+                .register(meterRegistry);
+        this.flushedViews = Counter.builder("post.view.flushed")
+                .description("DB에 반영된 조회수")
+                .register(meterRegistry);
+        this.earlyFlushes = Counter.builder("post.view.early-flush")
+                .description("대기 키 한도 초과로 예약된 조기 반영 횟수")
+                .register(meterRegistry);
+        this.droppedViews = Counter.builder("post.view.dropped")
+                .description("대기 키 엄격한 한도 초과로 버린 조회수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 조회수 1 증가 (메모리에만 누적)
+     */
+    public void increment(Long postId) {
+        if (!pendingViews.containsKey(postId)) {
+            int size = pendingViews.size();
+            if (size >= maxPendingKeys) {
+                // 대기 키 한도 초과 - 조회 경로에서는 쓰지 않고 조기 반영만 예약
+                requestEarlyFlush();
+                if (size >= 2L * maxPendingKeys) {
+                    droppedViews.increment();
+                    return;
+                }
+            }
+        }
+        add(postId, 1L);
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 조회수
+     */
+    public long getPendingCount(Long postId) {
+        LongAdder adder = pendingViews.get(postId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    /**
+     * 대기 중인 조회수 전체 합계
+     */
+    public long getPendingDelta() {
+        long total = 0L;
+        for (LongAdder adder : pendingViews.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    /**
+     * 누적된 조회수를 DB에 일괄 반영
+     */
+    @Scheduled(fixedDelayString = "${post.view-count.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        if (pendingViews.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        // 카운터는 그대로 두고 값만 비운다 (반영 중 들어온 조회는 다음 주기에 반영)
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pendingViews.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                deltas.put(entry.getKey(), delta);
+            } else {
+                retire(entry.getKey(), entry.getValue());
+            }
+        }
+
+        List<Long> postIds = new ArrayList<>(deltas.keySet());
+        for (int from = 0; from < postIds.size(); from += batchSize) {
+            Map<Long, Long> batch = new HashMap<>();
+            for (Long postId : postIds.subList(from, Math.min(from + batchSize, postIds.size()))) {
+                batch.put(postId, deltas.get(postId));
+            }
+
+            try {
+                postDAO.addViewCounts(batch);
+                // 캐시된 게시글 조회수도 반영분만큼 맞춘다 (조회마다 캐시를 비우지 않음)
+                postDetailCache.applyViewCounts(batch);
+                flushedViews.increment(batch.values().stream().mapToLong(Long::longValue).sum());
+            } catch (Exception e) {
+                log.error("조회수 일괄 반영 실패, 다음 주기에 재시도: {}건, {}", batch.size(), e.getMessage());
+                // 실패한 배치는 다시 대기열에 되돌려 놓는다
+                batch.forEach(this::add);
+            }
+        }
+
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.debug("조회수 일괄 반영 완료: {}건", deltas.size());
+    }
+
+    /**
+     * 종료 시 남은 조회수 반영
+     */
+    @PreDestroy
+    public void shutdown() {
+        log.info("종료 전 조회수 반영: {}건", pendingViews.size());
+        flush();
+    }
+
+    /**
+     * 카운터에 더한 뒤, 그 사이 카운터가 정리되었으면 남은 값을 새 카운터로 옮긴다.
+     * 값은 sumThenReset으로만 꺼내므로 정리 쪽과 동시에 옮겨도 한 번만 반영된다.
+     */
+    private void add(Long postId, long delta) {
+        LongAdder adder = pendingViews.computeIfAbsent(postId, key -> new LongAdder());
+        adder.add(delta);
+        if (pendingViews.get(postId) != adder) {
+            long moved = adder.sumThenReset();
+            if (moved > 0) {
+                add(postId, moved);
+            }
+        }
+    }
+
+    /**
+     * 한 주기 동안 조회가 없던 카운터 정리 (정리 직전에 들어온 조회는 되돌려 놓음)
+     */
+    private void retire(Long postId, LongAdder adder) {
+        if (pendingViews.remove(postId, adder)) {
+            long late = adder.sumThenReset();
+            if (late > 0) {
+                add(postId, late);
+            }
+        }
+    }
+
+    private void requestEarlyFlush() {
+        if (System.currentTimeMillis() - lastEarlyFlushAt < earlyFlushMinIntervalMs) {
+            return;
+        }
+        if (earlyFlushScheduled.compareAndSet(false, true)) {
+            lastEarlyFlushAt = System.currentTimeMillis();
+            earlyFlushes.increment();
+            Schedulers.boundedElastic().schedule(() -> {
+                try {
+                    flush();
+                } finally {
+                    earlyFlushScheduled.set(false);
+                }
+            });
+        }
+    }
+}
@@ -10,12 +10,15 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import com.br.brlog.notification.codec.NotificationCodecs;
+import com.br.brlog.notification.codec.NotificationRedisSerializer;
 import com.br.brlog.notification.dto.NotificationDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -78,12 +81,10 @@ public class RedisConfig {
      */
     @Bean
     public ReactiveRedisTemplate<String, NotificationDTO> reactiveRedisTemplate(
-            @Qualifier("reactiveRedisConnectionFactory") ReactiveRedisConnectionFactory factory) {
-        ObjectMapper objectMapper = objectMapper();
-        
-        Jackson2JsonRedisSerializer<NotificationDTO> valueSerializer = 
-                new Jackson2JsonRedisSerializer<>(NotificationDTO.class);
-        valueSerializer.setObjectMapper(objectMapper);
+            @Qualifier("reactiveRedisConnectionFactory") ReactiveRedisConnectionFactory factory,
+            NotificationCodecs notificationCodec) {
+        // notification.codec.format 형식으로 직렬화 (JSON 값도 읽을 수 있음)
+        NotificationRedisSerializer valueSerializer = new NotificationRedisSerializer(notificationCodec);
         
         StringRedisSerializer keySerializer = new StringRedisSerializer();
         
@@ -111,4 +112,25 @@ public class RedisConfig {
                         .build();
         return new ReactiveRedisTemplate<>(factory, stringContext);
     }
-}
\ No newline at end of file
+    
+    /**
+     * 문자열 키/값용 RedisTemplate (pub/sub 메시지, 카운터 등)
+     */
+    @Bean
+    public StringRedisTemplate stringRedisTemplate(
+            @Qualifier("standardRedisConnectionFactory") RedisConnectionFactory redisConnectionFactory) {
+        return new StringRedisTemplate(redisConnectionFactory);
+    }
+    
+    /**
+     * Redis pub/sub 구독 컨테이너
+     * 노드 간 캐시 무효화 등 채널 구독은 각 서비스에서 addMessageListener로 등록한다.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            @Qualifier("standardRedisConnectionFactory") RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        return container;
+    }
+}
@@ -0,0 +1,66 @@
+package com.br.brlog.security;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * 기동 시 미리 컴파일한 경로 분류표
+ * - 고정 경로는 HashSet, "/prefix/**"는 문자열 접두사 비교로 처리해 요청당 할당이 없다.
+ * - 그 외 패턴만 PathPattern으로 매칭한다.
+ */
+public final class RouteTable {
+
+    private final Set<String> exactPaths = new HashSet<>();
+    private final List<String> prefixes = new ArrayList<>();
+    private final List<PathPattern> patterns = new ArrayList<>();
+
+    private RouteTable() {
+    }
+
+    public static RouteTable compile(String... routes) {
+        RouteTable table = new RouteTable();
+        for (String route : routes) {
+            if (route.endsWith("/**") && !hasWildcard(route.substring(0, route.length() - 3))) {
+                String base = route.substring(0, route.length() - 3);
+                table.exactPaths.add(base);
+                table.prefixes.add(base + "/");
+            } else if (!hasWildcard(route)) {
+                table.exactPaths.add(route);
+            } else {
+                table.patterns.add(PathPatternParser.defaultInstance.parse(route));
+            }
+        }
+        return table;
+    }
+
+    public boolean matches(String path) {
+        if (exactPaths.contains(path)) {
+            return true;
+        }
+        for (int i = 0; i < prefixes.size(); i++) {
+            if (path.startsWith(prefixes.get(i))) {
+                return true;
+            }
+        }
+        if (patterns.isEmpty()) {
+            return false;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (int i = 0; i < patterns.size(); i++) {
+            if (patterns.get(i).matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasWildcard(String route) {
+        return route.indexOf('*') >= 0 || route.indexOf('?') >= 0 || route.indexOf('{') >= 0;
+    }
+}
@@ -28,12 +28,27 @@ import com.br.brlog.security.jwt.JwtFilter;
 import com.br.brlog.security.oauth2.OAuth2AuthenticationFailureHandler;
 import com.br.brlog.security.oauth2.OAuth2AuthenticationSuccessHandler;
 import com.br.brlog.security.oauth2.OAuth2UserService;
+import com.br.brlog.security.password.PasswordHasher;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    // 토큰을 전혀 보지 않는 경로 (JwtFilter 생략) - 인증 정보를 쓰는 /auth/me, /auth/logout 등은 넣지 않는다
+    public static final String[] TOKEN_FREE_ROUTES = {
+            "/auth/login", "/auth/signup", "/auth/check-email", "/auth/send-verification", "/auth/verify-code",
+            "/oauth2/**", "/public/**", "/files/**"
+    };
+
+    // URL 파라미터 토큰을 받는 경로 (EventSource는 헤더를 못 보냄)
+    public static final String[] QUERY_TOKEN_ROUTES = {
+            "/notifications/stream"
+    };
+
     private final JwtFilter jwtFilter;
     private final OAuth2UserService oauth2UserService;
     private final OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler;
@@ -50,6 +65,16 @@ public class SecurityConfig {
     
     @Value("${cors.exposed-headers}")
     private String exposedHeaders;
+    
+    // BCrypt cost 보정 (해시 1회 목표 시간)
+    @Value("${security.password.target-ms:250}")
+    private long passwordTargetMs;
+    
+    @Value("${security.password.min-cost:10}")
+    private int passwordMinCost;
+    
+    @Value("${security.password.max-cost:14}")
+    private int passwordMaxCost;
 
     public SecurityConfig(JwtFilter jwtFilter, OAuth2UserService oauth2UserService,
                           OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler,
@@ -62,7 +87,9 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int cost = PasswordHasher.calibrateCost(passwordTargetMs, passwordMinCost, passwordMaxCost);
+        log.info("BCrypt cost 보정 완료: {} (목표 {}ms)", cost, passwordTargetMs);
+        return new BCryptPasswordEncoder(cost);
     }
 
     @Bean
@@ -84,6 +111,8 @@ public class SecurityConfig {
                 // 나머지 /auth/** 경로 정의
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/public/**").permitAll()
+                // JwtFilter가 생략하는 경로는 인증 없이 접근 가능해야 함
+                .requestMatchers(TOKEN_FREE_ROUTES).permitAll()
                 //.requestMatchers(HttpMethod.GET, "/post/**").permitAll()
                 .requestMatchers("/lab/**").permitAll()
                 .requestMatchers("/lab/ai/**").permitAll()
@@ -136,8 +165,16 @@ public class SecurityConfig {
         if (!allowedHeadersList.contains("Authorization")) {
             allowedHeadersList.add("Authorization");
         }
+        // 알림 SSE 재연결 시 마지막 이벤트 ID
+        if (!allowedHeadersList.contains("*") && !allowedHeadersList.contains("Last-Event-ID")) {
+            allowedHeadersList.add("Last-Event-ID");
+        }
         
-        List<String> exposedHeadersList = Arrays.asList(exposedHeaders.split(","));
+        List<String> exposedHeadersList = new ArrayList<>(Arrays.asList(exposedHeaders.split(",")));
+        // 알림함 페이징 커서
+        if (!exposedHeadersList.contains("X-Next-Cursor")) {
+            exposedHeadersList.add("X-Next-Cursor");
+        }
         
         configuration.setAllowedOrigins(allowedOriginsList);
         configuration.setAllowedMethods(allowedMethodsList);
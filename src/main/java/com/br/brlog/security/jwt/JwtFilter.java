@@ -1,106 +1,134 @@
 package com.br.brlog.security.jwt;
 
-import com.br.brlog.redis.RedisService;
+import com.br.brlog.security.RouteTable;
+import com.br.brlog.security.SecurityConfig;
+import com.br.brlog.security.jwt.JwtTokenProvider.VerifiedToken;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Slf4j
 @Component
 public class JwtFilter extends OncePerRequestFilter {
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final JwtTokenProvider tokenProvider;
-    private final RedisService redisService;
-    
-    public JwtFilter(JwtTokenProvider tokenProvider, RedisService redisService) {
+    private final TokenStateCache tokenStateCache;
+
+    // 기동 시 SecurityConfig 경로로 만든 분류표
+    private final RouteTable tokenFreeRoutes = RouteTable.compile(SecurityConfig.TOKEN_FREE_ROUTES);
+    private final RouteTable queryTokenRoutes = RouteTable.compile(SecurityConfig.QUERY_TOKEN_ROUTES);
+
+    public JwtFilter(JwtTokenProvider tokenProvider, TokenStateCache tokenStateCache) {
         this.tokenProvider = tokenProvider;
-        this.redisService = redisService;
+        this.tokenStateCache = tokenStateCache;
+    }
+
+    /**
+     * 토큰을 보지 않는 공개/정적 경로와 CORS preflight는 필터 생략
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "OPTIONS".equals(request.getMethod()) || tokenFreeRoutes.matches(pathOf(request));
     }
-    
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        // 요청 경로 로깅
-        String requestURI = request.getRequestURI();
-        
         try {
             // 1. 현재 SecurityContext에 인증 정보가 있는지 확인
             if (SecurityContextHolder.getContext().getAuthentication() != null) {
-                log.debug("Security Context에 이미 인증 정보가 있습니다, uri: {}", requestURI);
                 filterChain.doFilter(request, response);
                 return;
             }
-            
-            // 2. 토큰 추출 (헤더 또는 URL 파라미터에서)
+
+            // 2. 토큰 추출 (헤더, SSE 경로는 URL 파라미터도)
             String jwt = resolveToken(request);
-            
+
             // 3. 토큰이 없으면 다음 필터로 진행
             if (jwt == null) {
-                log.debug("유효한 JWT 토큰이 없습니다, uri: {}", requestURI);
                 filterChain.doFilter(request, response);
                 return;
             }
-            
-            // 4. Redis 블랙리스트 확인
-            String blacklistKey = "blacklist:token:" + jwt;
-            if (redisService.hasKey(blacklistKey)) {
-                log.info("Blacklisted JWT token attempting to access {}", requestURI);
+
+            // 4. 토큰 유효성 검사 (검증 결과는 토큰별로 캐시)
+            VerifiedToken verified = verify(jwt);
+            if (verified == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            // 5. 폐기 여부 확인 (사용자별 토큰 버전, 로컬 캐시)
+            if (tokenProvider.isRevoked(jwt, verified)) {
+                log.info("Revoked JWT token attempting to access {}", request.getRequestURI());
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 filterChain.doFilter(request, response);
                 return;
             }
-            
-            // 5. 토큰 유효성 검사
-            if (tokenProvider.validateToken(jwt)) {
-                // 6. Redis에 토큰이 저장되어 있는지 확인
-                String tokenKey = tokenProvider.getTokenId(jwt);
-                Object storedToken = redisService.getData(tokenKey);
-                
-                log.info("토큰 검증 결과 - Redis Key: {}, 저장된 토큰 존재: {}", 
-                        tokenKey, storedToken != null);
-                
-                if (storedToken != null && storedToken.equals(jwt)) {
-                    // 7. 인증 정보 생성 및 SecurityContext에 저장
-                    Authentication authentication = tokenProvider.getAuthentication(jwt);
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    log.info("인증 성공: {}, uri: {}", authentication.getName(), requestURI);
-                } else {
-                    // 수정: Redis에 토큰 없이도 인증 허용 (테스트용)
-                    log.info("Redis에 토큰이 없지만 JWT는 유효함. 인증 허용: {}", requestURI);
-                    Authentication authentication = tokenProvider.getAuthentication(jwt);
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
-            } else {
-                log.info("유효하지 않은 JWT 토큰입니다, uri: {}", requestURI);
+
+            // 6. 저장된 토큰 비교는 로그용이므로 debug일 때만 (Redis에 토큰 없이도 인증 허용)
+            if (log.isDebugEnabled()) {
+                Object storedToken = tokenStateCache.getStoredToken(verified.getTokenKey());
+                log.debug("토큰 검증 결과 - Redis Key: {}, 저장된 토큰 일치: {}",
+                        verified.getTokenKey(), jwt.equals(storedToken));
             }
+
+            // 7. 인증 정보 생성 및 SecurityContext에 저장
+            SecurityContextHolder.getContext().setAuthentication(verified.toAuthentication(jwt));
         } catch (Exception e) {
             log.error("JWT 토큰 처리 중 오류 발생: {}", e.getMessage());
         }
-        
+
         filterChain.doFilter(request, response);
     }
-    
+
+    /**
+     * 토큰 검증 (유효하지 않으면 null)
+     */
+    private VerifiedToken verify(String jwt) {
+        try {
+            return tokenProvider.verify(jwt);
+        } catch (ExpiredJwtException e) {
+            log.debug("만료된 JWT 토큰: {}", e.getMessage());
+            return null;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("유효하지 않은 JWT 토큰: {}", e.getMessage());
+            return null;
+        }
+    }
+
     private String resolveToken(HttpServletRequest request) {
         // 1. 헤더에서 토큰 추출 시도
-        String bearerToken = request.getHeader("Authorization");
-        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
+        String bearerToken = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (bearerToken != null && bearerToken.length() > BEARER_PREFIX.length()
+                && bearerToken.startsWith(BEARER_PREFIX)) {
+            return bearerToken.substring(BEARER_PREFIX.length());
         }
-        
-        // 2. URL 파라미터에서 토큰 추출 시도 (SSE 연결용)
-        String paramToken = request.getParameter("token");
-        if (StringUtils.hasText(paramToken)) {
-            log.debug("URL 파라미터에서 토큰 추출: {}", paramToken.substring(0, Math.min(10, paramToken.length())));
-            return paramToken;
+
+        // 2. SSE 연결(GET)만 URL 파라미터에서 추출 - 그 외 요청은 본문 파싱을 유발하지 않도록 보지 않음
+        if ("GET".equals(request.getMethod()) && queryTokenRoutes.matches(pathOf(request))) {
+            String paramToken = request.getParameter("token");
+            if (paramToken != null && !paramToken.isBlank()) {
+                return paramToken;
+            }
         }
-        
+
         return null;
     }
-}
\ No newline at end of file
+
+    private static String pathOf(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        return contextPath.isEmpty() ? uri : uri.substring(contextPath.length());
+    }
+}
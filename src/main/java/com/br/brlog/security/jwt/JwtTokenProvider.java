@@ -3,6 +3,8 @@ package com.br.brlog.security.jwt;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,10 +17,16 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import java.security.Key;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,16 +39,124 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long tokenValidityInMilliseconds;
 
+    // 검증된 클레임 캐시 최대 건수
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+
+    // 토큰 버전 클레임 (로그아웃 시 사용자 버전이 올라가 이전 토큰 폐기)
+    public static final String VERSION_CLAIM = "ver";
+
+    private final MeterRegistry meterRegistry;
+    private final TokenStateCache tokenStateCache;
+
     private Key key;
     
+    // 재사용하는 파서 (불변, 스레드 안전)
+    private JwtParser parser;
+    
+    // 토큰 -> 서명 검증을 마친 토큰 정보 (토큰 만료 시각까지만 보관)
+    private Cache<String, VerifiedToken> claimsCache;
+    
+    public JwtTokenProvider(MeterRegistry meterRegistry, TokenStateCache tokenStateCache) {
+        this.meterRegistry = meterRegistry;
+        this.tokenStateCache = tokenStateCache;
+    }
+    
     @PostConstruct
     public void init() {
         log.debug("JWT 토큰 제공자 초기화");
         // 시크릿 키를 Base64로 디코딩하여 키 생성
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+                        return remainingNanos(verified.getClaims());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+                        return remainingNanos(verified.getClaims());
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt.claims");
         log.debug("JWT 시크릿 키 초기화 완료");
     }
+    
+    /**
+     * 토큰 서명 검증 후 클레임 반환 (검증 결과는 토큰 만료 시각까지 캐시)
+     * 유효하지 않거나 만료된 토큰이면 JwtException / IllegalArgumentException
+     */
+    public Claims parseClaims(String token) {
+        return verify(token).getClaims();
+    }
+    
+    /**
+     * 토큰 서명 검증 후 인증에 필요한 정보 반환 (JwtFilter용)
+     * 토큰 문자열을 그대로 캐시 키로 써서 캐시 적중 시 해시 계산/할당이 없다.
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT 토큰이 비어 있습니다");
+        }
+        VerifiedToken verified = claimsCache.getIfPresent(token);
+        if (verified != null) {
+            return verified;
+        }
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        verified = new VerifiedToken(claims, authoritiesOf(claims), getTokenIdFromClaims(claims));
+        claimsCache.put(token, verified);
+        return verified;
+    }
+    
+    /**
+     * 서명 검증 + 폐기(토큰 버전) 확인 - JwtFilter를 거치지 않는 경로(알림 SSE 등)용
+     * 유효하지 않거나 만료/폐기된 토큰이면 null
+     */
+    public VerifiedToken authenticate(String token) {
+        VerifiedToken verified;
+        try {
+            verified = verify(token);
+        } catch (ExpiredJwtException e) {
+            log.debug("만료된 JWT 토큰: {}", e.getMessage());
+            return null;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("유효하지 않은 JWT 토큰: {}", e.getMessage());
+            return null;
+        }
+        if (isRevoked(token, verified)) {
+            log.debug("폐기된 JWT 토큰: {}", verified.getUserId());
+            return null;
+        }
+        return verified;
+    }
+    
+    /**
+     * 로그아웃 등으로 폐기된 토큰인지 (사용자별 토큰 버전 비교)
+     */
+    public boolean isRevoked(String token, VerifiedToken verified) {
+        return tokenStateCache.isRevoked(token, verified.getUserId(), verified.getVersion());
+    }
+    
+    private static long remainingNanos(Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return 0L;
+        }
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, expiration.getTime() - System.currentTimeMillis()));
+    }
 
     // 토큰 생성 (이메일과 권한 지정)
     public String createToken(String email, Collection<? extends GrantedAuthority> authorities) {
@@ -56,6 +172,7 @@ public class JwtTokenProvider {
         String token = Jwts.builder()
                 .setSubject(email)
                 .claim("auth", authoritiesString)
+                .claim(VERSION_CLAIM, tokenStateCache.issueVersion(email))
                 .setIssuedAt(new Date(now))
                 .setExpiration(validity)
                 .signWith(key, SignatureAlgorithm.HS512)
@@ -100,6 +217,7 @@ public class JwtTokenProvider {
         String token = Jwts.builder()
                 .setSubject(username)
                 .claim("auth", authoritiesString)
+                .claim(VERSION_CLAIM, tokenStateCache.issueVersion(username))
                 .setIssuedAt(new Date(now))
                 .setExpiration(validity)
                 .signWith(key, SignatureAlgorithm.HS512)
@@ -118,56 +236,36 @@ public class JwtTokenProvider {
 
     // 토큰으로부터 인증 정보 추출
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-                
+        return getAuthentication(parseClaims(token), token);
+    }
+
+    // 검증된 클레임으로부터 인증 정보 생성
+    public Authentication getAuthentication(Claims claims, String token) {
+        List<GrantedAuthority> authorities = authoritiesOf(claims);
+        UserDetails principal = new User(claims.getSubject(), "", authorities);
+        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    }
+    
+    private static List<GrantedAuthority> authoritiesOf(Claims claims) {
         String authString = claims.get("auth", String.class);
-        Collection<? extends GrantedAuthority> authorities;
-        
         if (authString != null && !authString.isEmpty()) {
-            authorities = Arrays.stream(authString.split(","))
+            return Arrays.stream(authString.split(","))
                     .map(SimpleGrantedAuthority::new)
-                    .collect(Collectors.toList());
-        } else {
-            // 권한 정보가 없는 경우 기본 권한 부여
-            authorities = Arrays.asList(new SimpleGrantedAuthority("ROLE_USER"));
+                    .collect(Collectors.toUnmodifiableList());
         }
-
-        UserDetails principal = new User(claims.getSubject(), "", authorities);
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        // 권한 정보가 없는 경우 기본 권한 부여
+        return List.of(new SimpleGrantedAuthority("ROLE_USER"));
     }
 
-    // 토큰 검증
+    // 토큰 검증 (폐기된 토큰도 실패)
     public boolean validateToken(String token) {
-        try {
-            log.debug("토큰 검증 시도: {}", token.substring(0, Math.min(10, token.length())));
-            Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token);
-            log.debug("토큰 검증 성공");
-            return true;
-        } catch (ExpiredJwtException e) {
-            log.error("만료된 JWT 토큰: {}", e.getMessage());
-            return false;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.error("유효하지 않은 JWT 토큰: {}", e.getMessage());
-            return false;
-        }
+        return authenticate(token) != null;
     }
 
     // 토큰에서 이메일 추출
     public String getUsername(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
+            return parseClaims(token).getSubject();
         } catch (Exception e) {
             log.error("토큰에서 사용자명 추출 실패: {}", e.getMessage());
             return null;
@@ -178,11 +276,7 @@ public class JwtTokenProvider {
     public Date getExpirationDate(String token) {
         try {
             log.debug("토큰 만료일 확인 시도: {}", token.substring(0, Math.min(10, token.length())));
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = parseClaims(token);
             log.debug("토큰 만료일 확인 성공");
             return claims.getExpiration();
         } catch (Exception e) {
@@ -202,4 +296,50 @@ public class JwtTokenProvider {
             return "token:" + System.currentTimeMillis();  // 고유 ID 생성
         }
     }
-}
\ No newline at end of file
+    
+    // 검증된 클레임으로 토큰 ID 생성
+    public String getTokenIdFromClaims(Claims claims) {
+        String username = claims.getSubject();
+        return username != null ? "token:" + username : "unknown";
+    }
+    
+    /**
+     * 서명 검증을 마친 토큰 정보 (principal/권한/Redis 키를 한 번만 만든다)
+     */
+    public static final class VerifiedToken {
+        private final Claims claims;
+        private final Long version;
+        private final UserDetails principal;
+        private final List<GrantedAuthority> authorities;
+        private final String tokenKey;
+        
+        private VerifiedToken(Claims claims, List<GrantedAuthority> authorities, String tokenKey) {
+            this.claims = claims;
+            this.version = claims.get(VERSION_CLAIM, Long.class);
+            this.principal = new User(claims.getSubject(), "", authorities);
+            this.authorities = authorities;
+            this.tokenKey = tokenKey;
+        }
+        
+        public Claims getClaims() {
+            return claims;
+        }
+        
+        public String getUserId() {
+            return claims.getSubject();
+        }
+        
+        // 버전 도입 전 토큰이면 null
+        public Long getVersion() {
+            return version;
+        }
+        
+        public String getTokenKey() {
+            return tokenKey;
+        }
+        
+        public Authentication toAuthentication(String token) {
+            return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        }
+    }
+}
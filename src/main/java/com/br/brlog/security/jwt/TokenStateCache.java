@@ -0,0 +1,160 @@
+package com.br.brlog.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import com.br.brlog.redis.RedisService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 토큰 상태 near-cache (JwtFilter용)
+ * - 토큰 폐기: 사용자별 토큰 버전(Redis 해시 auth:token:version)을 토큰의 "ver" 클레임과 비교한다.
+ *   로그아웃하면 버전을 올려 이전 버전 토큰을 모두 폐기하므로, Redis 사용량이 로그아웃 횟수와 무관하다.
+ * - 저장된 토큰(token:{userId}): 짧은 TTL로 로컬 캐시한다.
+ * 변경은 auth:token:invalidate 채널로 모든 노드에 알리며, TTL은 메시지 유실 대비 안전망이다.
+ */
+@Slf4j
+@Component
+public class TokenStateCache {
+
+    // 버전 도입 전 발급된 토큰용 (해당 토큰이 만료되면 더 이상 쓰이지 않음)
+    public static final String BLACKLIST_PREFIX = "blacklist:token:";
+
+    private static final String VERSION_KEY = "auth:token:version";
+    private static final String CHANNEL = "auth:token:invalidate";
+    private static final String VERSION_MESSAGE = "ver:";
+    private static final String KEY_MESSAGE = "key:";
+
+    private final RedisService redisService;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    // 토큰 키 -> Redis에 저장된 토큰 (없으면 empty)
+    private Cache<String, Optional<Object>> storedTokens;
+
+    // 사용자 ID -> 현재 토큰 버전
+    private Cache<String, Long> versions;
+
+    @Value("${jwt.near-cache.ttl-ms:30000}")
+    private long nearCacheTtlMs;
+
+    @Value("${jwt.near-cache.max-size:10000}")
+    private long nearCacheMaxSize;
+
+    public TokenStateCache(RedisService redisService,
+                           StringRedisTemplate stringRedisTemplate,
+                           RedisMessageListenerContainer listenerContainer,
+                           MeterRegistry meterRegistry) {
+        this.redisService = redisService;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        Duration ttl = Duration.ofMillis(nearCacheTtlMs);
+        this.storedTokens = Caffeine.newBuilder()
+                .maximumSize(nearCacheMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(nearCacheMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, storedTokens, "jwt.token.near");
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, "jwt.version.near");
+        listenerContainer.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 폐기된 토큰인지 확인
+     * version이 없으면 버전 도입 전 토큰이므로 기존 블랙리스트 키로 확인
+     */
+    public boolean isRevoked(String jwt, String userId, Long version) {
+        if (version == null) {
+            return redisService.hasKey(BLACKLIST_PREFIX + jwt);
+        }
+        return version < versions.get(userId, this::loadVersion);
+    }
+
+    /**
+     * 새 토큰에 넣을 버전 (다른 노드의 로그아웃을 놓치지 않도록 Redis에서 직접 읽음)
+     */
+    public long issueVersion(String userId) {
+        long version = loadVersion(userId);
+        updateVersion(userId, version);
+        return version;
+    }
+
+    /**
+     * 사용자의 기존 토큰 모두 폐기 (로그아웃, 모든 노드)
+     */
+    public long revokeAll(String userId) {
+        long version = stringRedisTemplate.opsForHash().increment(VERSION_KEY, userId, 1L);
+        updateVersion(userId, version);
+        publish(VERSION_MESSAGE + version + ":" + userId);
+        return version;
+    }
+
+    /**
+     * Redis에 저장된 사용자 토큰 (없으면 null)
+     */
+    public Object getStoredToken(String tokenKey) {
+        return storedTokens.get(tokenKey, key -> Optional.ofNullable(redisService.getData(key))).orElse(null);
+    }
+
+    /**
+     * 저장된 토큰이 바뀌면 캐시 무효화 (로그인/로그아웃 시 호출, 모든 노드)
+     */
+    public void invalidateTokenKey(String tokenKey) {
+        storedTokens.invalidate(tokenKey);
+        publish(KEY_MESSAGE + tokenKey);
+    }
+
+    long loadVersion(String userId) {
+        Object value = stringRedisTemplate.opsForHash().get(VERSION_KEY, userId);
+        return value != null ? Long.parseLong(value.toString()) : 0L;
+    }
+
+    // 버전은 올라가기만 하므로 늦게 도착한 메시지가 낮은 값으로 덮어쓰지 않게 함
+    private void updateVersion(String userId, long version) {
+        versions.asMap().merge(userId, version, Math::max);
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (body.startsWith(VERSION_MESSAGE)) {
+            int separator = body.indexOf(':', VERSION_MESSAGE.length());
+            long version = Long.parseLong(body.substring(VERSION_MESSAGE.length(), separator));
+            updateVersion(body.substring(separator + 1), version);
+        } else if (body.startsWith(KEY_MESSAGE)) {
+            storedTokens.invalidate(body.substring(KEY_MESSAGE.length()));
+        }
+    }
+
+    private void publish(String message) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, message);
+        } catch (Exception e) {
+            log.error("토큰 캐시 무효화 메시지 전송 실패 (TTL 후 반영): {}", e.getMessage());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.br.brlog.security.oauth2;
 
 import com.br.brlog.redis.RedisService;
 import com.br.brlog.security.jwt.JwtTokenProvider;
+import com.br.brlog.security.jwt.TokenStateCache;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,13 +24,16 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
 
     private final JwtTokenProvider tokenProvider;
     private final RedisService redisService;
+    private final TokenStateCache tokenStateCache;
     
     @Value("${oauth2.authorizedRedirectUri}")
     private String redirectUri;
 
-    public OAuth2AuthenticationSuccessHandler(JwtTokenProvider tokenProvider, RedisService redisService) {
+    public OAuth2AuthenticationSuccessHandler(JwtTokenProvider tokenProvider, RedisService redisService,
+                                              TokenStateCache tokenStateCache) {
         this.tokenProvider = tokenProvider;
         this.redisService = redisService;
+        this.tokenStateCache = tokenStateCache;
     }
 
     @Override
@@ -47,6 +51,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
         // Redis에 토큰 저장
         String tokenKey = tokenProvider.getTokenId(token);
         redisService.saveDataWithExpiration(tokenKey, token, expirationTime, TimeUnit.MILLISECONDS);
+        tokenStateCache.invalidateTokenKey(tokenKey);
         
         log.debug("토큰 생성 및 Redis 저장 완료");
         
@@ -0,0 +1,224 @@
+package com.br.brlog.security.password;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 비밀번호 해시/검증 전용 스레드 풀
+ * - BCrypt는 CPU를 오래 쓰므로 요청 스레드 대신 크기와 큐가 제한된 풀에서 실행하고,
+ *   큐가 가득 차면 기다리지 않고 바로 거절한다 (PasswordHashingOverloadException).
+ *   대기 시간이 초과된 작업은 큐에서 빼고, 이미 꺼내진 작업도 해시를 시작하지 않는다.
+ * - 저장된 해시의 cost가 현재 cost보다 낮거나 평문이면 검증 성공 시 새 해시를 돌려준다.
+ * - cost별 소요 시간을 히스토그램으로 기록한다 (security.password.hash).
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private static final String BCRYPT_PREFIX = "$2";
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+
+    private final Counter rejected;
+
+    private ThreadPoolExecutor executor;
+
+    // 해시 스레드 수 (0이면 CPU 코어 수)
+    @Value("${security.password.threads:0}")
+    private int threads;
+
+    @Value("${security.password.queue-capacity:64}")
+    private int queueCapacity;
+
+    // 큐 대기 포함 최대 대기 시간
+    @Value("${security.password.timeout-ms:3000}")
+    private long timeoutMs;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.rejected = Counter.builder("security.password.rejected")
+                .description("과부하로 거절된 비밀번호 해시 작업 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("security.password.queue", executor, pool -> pool.getQueue().size())
+                .description("대기 중인 비밀번호 해시 작업 수")
+                .register(meterRegistry);
+        log.info("비밀번호 해시 풀 초기화: threads={}, queue={}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 비밀번호 검증 (평문으로 저장된 기존 비밀번호도 비교)
+     */
+    public Verification verify(String rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return Verification.FAILED;
+        }
+        return submit(() -> {
+            if (!isBcrypt(storedPassword)) {
+                boolean matched = MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                        storedPassword.getBytes(StandardCharsets.UTF_8));
+                return matched ? new Verification(true, encodeNow(rawPassword)) : Verification.FAILED;
+            }
+            boolean matched = timer("verify", costOf(storedPassword))
+                    .record(() -> passwordEncoder.matches(rawPassword, storedPassword));
+            if (!matched) {
+                return Verification.FAILED;
+            }
+            return new Verification(true, passwordEncoder.upgradeEncoding(storedPassword) ? encodeNow(rawPassword) : null);
+        });
+    }
+
+    /**
+     * 새 비밀번호 해시
+     */
+    public String encode(String rawPassword) {
+        return submit(() -> encodeNow(rawPassword));
+    }
+
+    private String encodeNow(String rawPassword) {
+        long start = System.nanoTime();
+        String encoded = passwordEncoder.encode(rawPassword);
+        timer("encode", costOf(encoded)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return encoded;
+    }
+
+    private <T> T submit(Supplier<T> task) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        FutureTask<T> future = new FutureTask<>(() -> {
+            // 호출 측이 이미 포기한 요청은 해시하지 않음
+            if (System.nanoTime() - deadline >= 0) {
+                throw new PasswordHashingOverloadException("비밀번호 처리 대기 시간이 초과되었습니다");
+            }
+            return task.get();
+        });
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingOverloadException("비밀번호 처리 요청이 많습니다");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 큐에 남아 있으면 제거해 다른 요청의 자리를 비운다
+            future.cancel(false);
+            executor.remove(future);
+            rejected.increment();
+            throw new PasswordHashingOverloadException("비밀번호 처리 대기 시간이 초과되었습니다");
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            executor.remove(future);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 처리 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("비밀번호 처리 실패", cause);
+        }
+    }
+
+    private Timer timer(String operation, String cost) {
+        return Timer.builder("security.password.hash")
+                .tag("operation", operation)
+                .tag("cost", cost)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static boolean isBcrypt(String storedPassword) {
+        return storedPassword.startsWith(BCRYPT_PREFIX);
+    }
+
+    // "$2a$12$..." -> "12"
+    private static String costOf(String hash) {
+        int start = hash.indexOf('$', 1) + 1;
+        int end = hash.indexOf('$', start);
+        return start > 0 && end > start ? hash.substring(start, end) : "unknown";
+    }
+
+    /**
+     * 기동 시 목표 시간 안에 끝나는 가장 높은 BCrypt cost 측정
+     */
+    public static int calibrateCost(long targetMs, int minCost, int maxCost) {
+        String sample = "brlog-calibration";
+        // JIT 워밍업
+        new BCryptPasswordEncoder(minCost).encode(sample);
+
+        int cost = minCost;
+        for (int candidate = minCost; candidate <= maxCost; candidate++) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(candidate).encode(sample);
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (elapsedMs > targetMs) {
+                break;
+            }
+            cost = candidate;
+            // cost가 1 오르면 시간은 2배
+            if (elapsedMs * 2 > targetMs) {
+                break;
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * 검증 결과 (upgradedHash가 있으면 저장된 비밀번호를 교체)
+     */
+    @Getter
+    public static final class Verification {
+        private static final Verification FAILED = new Verification(false, null);
+
+        private final boolean matched;
+        private final String upgradedHash;
+
+        private Verification(boolean matched, String upgradedHash) {
+            this.matched = matched;
+            this.upgradedHash = upgradedHash;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.br.brlog.security.password;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.br.brlog.common.ResponseCode;
+import com.br.brlog.common.dto.ResponseDTO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 비밀번호 해시 과부하 (로그인/회원가입/비밀번호 변경) -> 503 + Retry-After(초)
+ */
+@Slf4j
+@RestControllerAdvice
+public class PasswordHashingExceptionHandler {
+
+    // 해시 대기 시간이 지나면 큐가 비었을 수 있으므로 그만큼 뒤에 재시도
+    @Value("${security.password.timeout-ms:3000}")
+    private long timeoutMs;
+
+    @SuppressWarnings("unchecked")
+    @ExceptionHandler(PasswordHashingOverloadException.class)
+    public ResponseEntity<ResponseDTO<Void>> handleOverload(PasswordHashingOverloadException e) {
+        long retryAfterSeconds = Math.max(1L, (timeoutMs + 999L) / 1000L);
+        log.debug("비밀번호 해시 과부하: {}, {}초 후 재시도", e.getMessage(), retryAfterSeconds);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(ResponseDTO.of(null, ResponseCode.AUTH_BUSY));
+    }
+}
@@ -0,0 +1,11 @@
+package com.br.brlog.security.password;
+
+/**
+ * 비밀번호 해시 작업 큐가 가득 찼거나 대기 시간이 초과됨 (잠시 후 재시도)
+ */
+public class PasswordHashingOverloadException extends RuntimeException {
+
+    public PasswordHashingOverloadException(String message) {
+        super(message);
+    }
+}
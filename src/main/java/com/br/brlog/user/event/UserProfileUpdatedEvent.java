@@ -0,0 +1,16 @@
+package com.br.brlog.user.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 사용자 프로필(이름, 프로필 이미지 등) 변경 이벤트
+ * 작성자 정보를 함께 캐싱하는 곳에서 구독해 해당 사용자의 캐시를 비운다.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class UserProfileUpdatedEvent {
+    private final String userId;
+}
@@ -7,21 +7,26 @@ import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.br.brlog.auth.dto.SignupRequestDTO;
 import com.br.brlog.redis.RedisService;
 import com.br.brlog.security.jwt.JwtTokenProvider;
+import com.br.brlog.security.jwt.TokenStateCache;
+import com.br.brlog.security.password.PasswordHasher;
+import com.br.brlog.security.password.PasswordHasher.Verification;
+import com.br.brlog.security.password.PasswordHashingOverloadException;
 import com.br.brlog.user.dao.UserDAO;
 import com.br.brlog.user.dto.LoginRequestDTO;
 import com.br.brlog.user.dto.TokenResponseDTO;
 import com.br.brlog.user.dto.UserDTO;
 import com.br.brlog.user.dto.UserResponseDTO;
+import com.br.brlog.user.event.UserProfileUpdatedEvent;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,10 +36,12 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class UserService {
 	private final UserDAO userDAO;
-	private final PasswordEncoder passwordEncoder;
+	private final PasswordHasher passwordHasher;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
     private final RedisService redisService;
+    private final TokenStateCache tokenStateCache;
+    private final ApplicationEventPublisher eventPublisher;
 
 	/**
      * 사용자 목록 조회
@@ -60,13 +67,20 @@ public class UserService {
                 throw new RuntimeException("유효하지 않은 이메일 또는 비밀번호");
             }
             
-            // 2. 비밀번호 직접 검증
-            //if (!passwordEncoder.matches(loginRequest.getUserPw(), userDTO.getUserPw())) {
-            if(!loginRequest.getUserPw().equals(userDTO.getUserPw())) {
+            // 2. 비밀번호 검증 (해시 전용 풀에서 실행)
+            Verification verification = passwordHasher.verify(loginRequest.getUserPw(), userDTO.getUserPw());
+            if (!verification.isMatched()) {
                 log.error("비밀번호 불일치: {}", loginRequest.getUserId());
                 throw new RuntimeException("유효하지 않은 이메일 또는 비밀번호");
             }
             
+            // 평문이거나 cost가 낮은 해시면 현재 cost로 교체
+            if (verification.getUpgradedHash() != null) {
+                userDTO.setUserPw(verification.getUpgradedHash());
+                userDAO.updateUserPassword(userDTO);
+                log.info("비밀번호 해시 갱신: {}", loginRequest.getUserId());
+            }
+            
             log.info("비밀번호 검증 성공: {}", loginRequest.getUserId());
             
             // 3. 사용자 권한 설정
@@ -81,6 +95,7 @@ public class UserService {
             // 5. Redis에 토큰 저장
             String tokenKey = jwtTokenProvider.getTokenId(jwt);
             redisService.saveDataWithExpiration(tokenKey, jwt, expirationTime, TimeUnit.MILLISECONDS);
+            tokenStateCache.invalidateTokenKey(tokenKey);
             
             // 6. 마지막 로그인 시간 업데이트
             userDAO.updateUser(userDTO);
@@ -93,6 +108,10 @@ public class UserService {
                     .user(userResponse)
                     .build();
             
+        } catch (PasswordHashingOverloadException e) {
+            // 과부하는 예상된 거절이므로 스택 트레이스 없이 기록
+            log.warn("로그인 거절 (비밀번호 해시 과부하): {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("로그인 처리 중 오류 발생", e);
             throw e;
@@ -156,7 +175,7 @@ public class UserService {
         UserDTO userDTO = UserDTO.builder()
                 .userId(signupRequestDTO.getUserId())
                 .userNm(signupRequestDTO.getUserNm())
-                .userPw(passwordEncoder.encode(signupRequestDTO.getUserPw()))
+                .userPw(passwordHasher.encode(signupRequestDTO.getUserPw()))
                 //.verified(false) // 이메일 인증 필요
                 //.createdAt(LocalDateTime.now())
                 //.updatedAt(LocalDateTime.now())
@@ -179,16 +198,17 @@ public class UserService {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String jwt = authHeader.substring(7);
             String username = jwtTokenProvider.getUsername(jwt);
-            Date expirationDate = jwtTokenProvider.getExpirationDate(jwt);
-            long expirationTime = expirationDate.getTime() - System.currentTimeMillis();
+            if (username == null) {
+                return;
+            }
             
             // Redis에서 사용자 토큰 삭제
             String tokenKey = jwtTokenProvider.getTokenId(jwt);
             redisService.deleteData(tokenKey);
+            tokenStateCache.invalidateTokenKey(tokenKey);
             
-            // 블랙리스트에 토큰 추가 (유효기간까지)
-            String blacklistKey = "blacklist:token:" + jwt;
-            redisService.saveDataWithExpiration(blacklistKey, "true", expirationTime, TimeUnit.MILLISECONDS);
+            // 토큰 버전을 올려 이 사용자의 기존 토큰 폐기 (토큰별 블랙리스트 키 없음)
+            tokenStateCache.revokeAll(username);
             
             log.debug("사용자 로그아웃 처리 완료: {}", username);
         }
@@ -226,7 +246,7 @@ public class UserService {
                 userDTO = UserDTO.builder()
                         .userId(userId)
                         .userNm(userNm)
-                        .userPw(passwordEncoder.encode(UUID.randomUUID().toString()))
+                        .userPw(passwordHasher.encode(UUID.randomUUID().toString()))
                         .provider(provider)
                         .providerId(providerId)
                         .profileImgUrl(picture)
@@ -298,6 +318,9 @@ public class UserService {
         // 데이터베이스 업데이트
         userDAO.updateUserProfile(existingUser);
         
+        // 작성자 정보를 담은 캐시(게시글 상세 등) 무효화
+        eventPublisher.publishEvent(new UserProfileUpdatedEvent(existingUser.getUserId()));
+        
         // 업데이트된 사용자 정보 반환
         UserDTO updatedUser = userDAO.findByUserId(userProfileDTO.getUserId());
         updatedUser.setUserPw(null); // 비밀번호는 응답에서 제외
@@ -317,19 +340,14 @@ public class UserService {
             throw new RuntimeException("사용자를 찾을 수 없습니다");
         }
         
-        // 현재 비밀번호 확인
-        // 운영 환경에서는 암호화된 비밀번호를 비교해야 함
-        // if (!passwordEncoder.matches(currentPassword, userDTO.getUserPw())) {
-        if (!currentPassword.equals(userDTO.getUserPw())) {
+        // 현재 비밀번호 확인 (평문으로 저장된 기존 비밀번호도 비교)
+        if (!passwordHasher.verify(currentPassword, userDTO.getUserPw()).isMatched()) {
             log.error("현재 비밀번호가 일치하지 않음: {}", userId);
             return false;
         }
         
-        // 새 비밀번호 암호화 (실제 환경에서 필요)
-        // String encodedPassword = passwordEncoder.encode(newPassword);
-        
-        // 암호화 없이 직접 저장 (기존 코드 패턴에 맞춤)
-        userDTO.setUserPw(newPassword);
+        // 새 비밀번호 암호화
+        userDTO.setUserPw(passwordHasher.encode(newPassword));
         
         // 비밀번호 업데이트
         userDAO.updateUserPassword(userDTO);
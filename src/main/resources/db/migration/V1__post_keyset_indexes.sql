@@ -0,0 +1,15 @@
+-- 게시글 목록/검색 keyset 페이징용 복합 인덱스
+-- post.getPostsByCursor / post.searchPostsByCursor 의 정렬 순서
+--   (IS_NOTICE DESC, 정렬 컬럼 DESC, POST_ID DESC)
+-- 와 동일한 컬럼 순서로 만들어, 커서 이후 구간을 인덱스 range 스캔으로 바로 찾아가도록 한다.
+-- 모든 컬럼이 DESC 이므로 일반(ASC) 인덱스를 역방향으로 읽는다.
+
+-- 전체 목록
+CREATE INDEX IDX_D_POST_LIST_REG     ON brlog.D_POST (STATUS, IS_NOTICE, REG_DT, POST_ID);
+CREATE INDEX IDX_D_POST_LIST_LIKE    ON brlog.D_POST (STATUS, IS_NOTICE, LIKE_CNT, POST_ID);
+CREATE INDEX IDX_D_POST_LIST_COMMENT ON brlog.D_POST (STATUS, IS_NOTICE, COMMENT_CNT, POST_ID);
+
+-- 카테고리별 목록
+CREATE INDEX IDX_D_POST_CAT_REG      ON brlog.D_POST (STATUS, CATEGORY_ID, IS_NOTICE, REG_DT, POST_ID);
+CREATE INDEX IDX_D_POST_CAT_LIKE     ON brlog.D_POST (STATUS, CATEGORY_ID, IS_NOTICE, LIKE_CNT, POST_ID);
+CREATE INDEX IDX_D_POST_CAT_COMMENT  ON brlog.D_POST (STATUS, CATEGORY_ID, IS_NOTICE, COMMENT_CNT, POST_ID);
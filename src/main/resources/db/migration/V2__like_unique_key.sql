@@ -0,0 +1,3 @@
+-- 좋아요 일괄 반영(post.insertLikes)의 INSERT IGNORE가 중복 행을 만들지 않도록
+-- (POST_ID, USER_ID) 유니크 키를 둔다. 기존 중복 행이 있으면 먼저 정리해야 한다.
+ALTER TABLE brlog.D_LIKE ADD CONSTRAINT UK_D_LIKE_POST_USER UNIQUE (POST_ID, USER_ID);
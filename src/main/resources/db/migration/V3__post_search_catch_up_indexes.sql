@@ -0,0 +1,6 @@
+-- 검색 색인 따라잡기 스캔용 인덱스
+-- post.scanPostsForIndex 의 (MOD_DT >= ? OR REG_DT >= ?) 조건을
+-- 두 인덱스의 range 스캔(index merge union)으로 처리해, 최근 변경분만 읽도록 한다.
+
+CREATE INDEX IDX_D_POST_MOD_DT ON brlog.D_POST (MOD_DT);
+CREATE INDEX IDX_D_POST_REG_DT ON brlog.D_POST (REG_DT);
@@ -0,0 +1,176 @@
+package com.br.brlog.common.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final int NODE_ID = 37;
+    private static final long EPOCH = 1735689600000L;
+
+    private SnowflakeIdGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        // 고정 노드 번호를 쓰면 Redis를 사용하지 않는다
+        generator = new SnowflakeIdGenerator(null);
+        ReflectionTestUtils.setField(generator, "fixedNodeId", NODE_ID);
+        generator.init();
+    }
+
+    @Test
+    void packsTimeNodeAndSequence() {
+        long before = System.currentTimeMillis();
+        long id = generator.nextId();
+        long after = System.currentTimeMillis();
+
+        assertThat(id).isPositive();
+        assertThat(SnowflakeIdGenerator.timestampOf(id)).isBetween(before, after);
+        assertThat(node(id)).isEqualTo(NODE_ID);
+        assertThat(generator.getNodeId()).isEqualTo(NODE_ID);
+    }
+
+    @Test
+    void increasesSequenceWithinSameMillisecond() {
+        long future = System.currentTimeMillis() + 60_000;
+        setState(future, 10);
+
+        long id = generator.nextId();
+
+        assertThat(SnowflakeIdGenerator.timestampOf(id)).isEqualTo(future);
+        assertThat(sequence(id)).isEqualTo(11);
+    }
+
+    @Test
+    void staysMonotonicWhenClockGoesBackwards() {
+        // 마지막으로 쓴 시각이 현재 시계보다 앞선 상태 = 시계가 뒤로 간 상황
+        long ahead = System.currentTimeMillis() + 50;
+        setState(ahead, 0);
+
+        long previous = 0L;
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            assertThat(SnowflakeIdGenerator.timestampOf(id)).isGreaterThanOrEqualTo(ahead);
+            assertThat(node(id)).isEqualTo(NODE_ID);
+            previous = id;
+        }
+    }
+
+    @Test
+    void waitsForNextMillisecondWhenSequenceOverflows() {
+        long ahead = System.currentTimeMillis() + 20;
+        setState(ahead, 4095);
+
+        long id = generator.nextId();
+
+        // 논리 시간을 앞당기지 않고 시계가 따라올 때까지 기다림
+        assertThat(SnowflakeIdGenerator.timestampOf(id)).isGreaterThan(ahead);
+        assertThat(SnowflakeIdGenerator.timestampOf(id)).isLessThanOrEqualTo(System.currentTimeMillis());
+        assertThat(sequence(id)).isZero();
+        assertThat(node(id)).isEqualTo(NODE_ID);
+    }
+
+    @Test
+    void failsStartupWithoutLease() {
+        SnowflakeIdGenerator leased = leasedGenerator(false);
+
+        assertThatThrownBy(leased::init).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void stopsIssuingIdsWhenLeaseIsNotRenewed() {
+        SnowflakeIdGenerator leased = leasedGenerator(true);
+        leased.init();
+        try {
+            assertThat(leased.nextId()).isPositive();
+
+            // 마지막 연장 후 (TTL - guard)가 지난 상태
+            ReflectionTestUtils.setField(leased, "leaseValidUntil", System.currentTimeMillis() - 1);
+
+            assertThatThrownBy(leased::nextId).isInstanceOf(IllegalStateException.class);
+        } finally {
+            leased.releaseLease();
+        }
+    }
+
+    @Test
+    void generatesUniqueIdsAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    long previous = 0L;
+                    for (int i = 0; i < perThread; i++) {
+                        long id = generator.nextId();
+                        // 스레드 안에서도 단조 증가
+                        assertThat(id).isGreaterThan(previous);
+                        previous = id;
+                        ids.add(id);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(ids).hasSize(threads * perThread);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SnowflakeIdGenerator leasedGenerator(boolean acquired) {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(acquired);
+
+        SnowflakeIdGenerator leased = new SnowflakeIdGenerator(redis);
+        ReflectionTestUtils.setField(leased, "fixedNodeId", -1);
+        ReflectionTestUtils.setField(leased, "leaseTtlMs", 60_000L);
+        ReflectionTestUtils.setField(leased, "renewIntervalMs", 20_000L);
+        ReflectionTestUtils.setField(leased, "leaseGuardMs", 10_000L);
+        return leased;
+    }
+
+    private void setState(long epochMillis, long sequence) {
+        AtomicLong state = (AtomicLong) ReflectionTestUtils.getField(generator, "state");
+        state.set(((epochMillis - EPOCH) << 12) | sequence);
+    }
+
+    private static long node(long id) {
+        return (id >>> 12) & 1023;
+    }
+
+    private static long sequence(long id) {
+        return id & 4095;
+    }
+}
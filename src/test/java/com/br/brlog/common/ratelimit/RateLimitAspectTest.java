@@ -0,0 +1,179 @@
+package com.br.brlog.common.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitAspectTest {
+
+    private final InMemoryRateLimiter rateLimiter = new InMemoryRateLimiter();
+    private final RateLimitAspect aspect = new RateLimitAspect(rateLimiter);
+
+    @Test
+    void successfulRequestsDoNotUseFailureBucket() throws Throwable {
+        for (int i = 0; i < 10; i++) {
+            aspect.limit(joinPoint("login", ResponseEntity.ok("ok")));
+        }
+
+        assertThat(rateLimiter.tokens("fail:user")).isEqualTo(3);
+        assertThat(rateLimiter.tokens("ip:1.1.1.1")).isEqualTo(90);
+    }
+
+    @Test
+    void failedRequestsUseFailureBucket() throws Throwable {
+        ResponseEntity<String> unauthorized = ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("no");
+        for (int i = 0; i < 3; i++) {
+            aspect.limit(joinPoint("login", unauthorized));
+        }
+
+        ProceedingJoinPoint rejected = joinPoint("login", unauthorized);
+        assertThatThrownBy(() -> aspect.limit(rejected)).isInstanceOf(RateLimitExceededException.class);
+        verify(rejected, never()).proceed();
+    }
+
+    @Test
+    void exceptionUsesFailureBucket() throws Throwable {
+        ProceedingJoinPoint failing = joinPoint("login", null);
+        when(failing.proceed()).thenThrow(new IllegalStateException("boom"));
+
+        assertThatThrownBy(() -> aspect.limit(failing)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(rateLimiter.tokens("fail:user")).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentBurstIsCappedAtRemainingTokens() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger proceeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<ProceedingJoinPoint> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ProceedingJoinPoint joinPoint = joinPoint("login", null);
+            when(joinPoint.proceed()).thenAnswer(invocation -> {
+                proceeded.incrementAndGet();
+                release.await(5, TimeUnit.SECONDS);
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            });
+            requests.add(joinPoint);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(requests.size());
+        try {
+            for (ProceedingJoinPoint joinPoint : requests) {
+                pool.submit(() -> {
+                    try {
+                        aspect.limit(joinPoint);
+                    } catch (RateLimitExceededException e) {
+                        rejected.incrementAndGet();
+                    } catch (Throwable e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return null;
+                });
+            }
+
+            // 실패 결과가 나오기 전(확인만 하던 방식이면 모두 통과하던 시점)에 버킷 크기만큼만 들어간다
+            long deadline = System.currentTimeMillis() + 5000;
+            while (rejected.get() < 7 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(rejected.get()).isEqualTo(7);
+            assertThat(proceeded.get()).isEqualTo(3);
+        } finally {
+            release.countDown();
+            pool.shutdown();
+            pool.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void refundsReservationWhenLaterLimitRejects() throws Throwable {
+        aspect.limit(joinPoint("reserveFirst", ResponseEntity.status(HttpStatus.UNAUTHORIZED).build()));
+        assertThat(rateLimiter.tokens("fail:user")).isEqualTo(2);
+
+        ProceedingJoinPoint rejected = joinPoint("reserveFirst", ResponseEntity.ok("ok"));
+        assertThatThrownBy(() -> aspect.limit(rejected)).isInstanceOf(RateLimitExceededException.class);
+
+        assertThat(rateLimiter.tokens("fail:user")).isEqualTo(2);
+    }
+
+    private static ProceedingJoinPoint joinPoint(String methodName, Object result) throws Throwable {
+        Method method = Target.class.getMethod(methodName, String.class, String.class);
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[] {"1.1.1.1", "User"});
+        when(joinPoint.proceed()).thenReturn(result);
+        return joinPoint;
+    }
+
+    static class Target {
+        @RateLimit(name = "ip", key = "#a0", capacity = 100, refillTokens = 100, refillPeriodSeconds = 60)
+        @RateLimit(name = "fail", key = "#a1", capacity = 3, refillTokens = 3, refillPeriodSeconds = 60,
+                   failuresOnly = true)
+        public ResponseEntity<String> login(String ip, String user) {
+            return null;
+        }
+
+        @RateLimit(name = "fail", key = "#a1", capacity = 3, refillTokens = 3, refillPeriodSeconds = 60,
+                   failuresOnly = true)
+        @RateLimit(name = "once", key = "#a0", capacity = 1, refillTokens = 1, refillPeriodSeconds = 60)
+        public ResponseEntity<String> reserveFirst(String ip, String user) {
+            return null;
+        }
+    }
+
+    /**
+     * 충전 없는 메모리 토큰 버킷
+     */
+    private static class InMemoryRateLimiter extends RateLimiter {
+        private final Map<String, Integer> buckets = new HashMap<>();
+
+        private InMemoryRateLimiter() {
+            super(mock(StringRedisTemplate.class), new SimpleMeterRegistry());
+        }
+
+        @Override
+        public synchronized void acquire(RateLimit limit, String key) {
+            String bucket = limit.name() + ":" + key;
+            int tokens = buckets.getOrDefault(bucket, limit.capacity());
+            if (tokens < 1) {
+                throw new RateLimitExceededException(limit.name(), 1000L);
+            }
+            buckets.put(bucket, tokens - 1);
+        }
+
+        @Override
+        public synchronized void refund(RateLimit limit, String key) {
+            String bucket = limit.name() + ":" + key;
+            buckets.put(bucket, Math.min(limit.capacity(), buckets.getOrDefault(bucket, limit.capacity()) + 1));
+        }
+
+        private synchronized int tokens(String bucket) {
+            return buckets.get(bucket);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.br.brlog.common.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimiterTest {
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimiter rateLimiter;
+    private RateLimit limit;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        rateLimiter = new RateLimiter(redis, meterRegistry);
+        ReflectionTestUtils.setField(rateLimiter, "localCacheMaxSize", 100L);
+        rateLimiter.init();
+        limit = Limited.class.getMethod("call").getAnnotation(RateLimit.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectsWithRetryAfterAndRemembersLocally() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1500L);
+
+        assertThatThrownBy(() -> rateLimiter.acquire(limit, "k"))
+                .isInstanceOfSatisfying(RateLimitExceededException.class,
+                        e -> assertThat(e.getRetryAfterMs()).isEqualTo(1500L));
+        // 재시도 시각 전에는 Redis까지 가지 않는다
+        assertThatThrownBy(() -> rateLimiter.acquire(limit, "k")).isInstanceOf(RateLimitExceededException.class);
+
+        verify(redis, times(1)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        assertThat(meterRegistry.counter("ratelimit.requests", "name", "test", "result", "local_rejected").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refundClearsLocalRejection() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(1500L)
+                .thenReturn(0L);
+        assertThatThrownBy(() -> rateLimiter.acquire(limit, "k")).isInstanceOf(RateLimitExceededException.class);
+
+        rateLimiter.refund(limit, "k");
+
+        assertThatCode(() -> rateLimiter.acquire(limit, "k")).doesNotThrowAnyException();
+        verify(redis, times(3)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void allowsWhenRedisFails() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThatCode(() -> rateLimiter.acquire(limit, "k")).doesNotThrowAnyException();
+        assertThatCode(() -> rateLimiter.refund(limit, "k")).doesNotThrowAnyException();
+    }
+
+    static class Limited {
+        @RateLimit(name = "test", key = "#ip", capacity = 2, refillTokens = 2, refillPeriodSeconds = 60)
+        public void call() {
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.br.brlog.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import com.br.brlog.mail.dto.MailMessageDTO;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+
+class MailBatchSenderTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Test
+    void sendsBatchThroughOneSender() throws Exception {
+        List<MailMessageDTO> messages = IntStream.range(0, 5)
+                .mapToObj(i -> message("user" + i + "@brlog.test", "인증번호 " + i))
+                .collect(Collectors.toList());
+
+        List<MailBatchSender.Failure> failed;
+        try (MailBatchSender sender = new MailBatchSender(mailSender(greenMail.getSmtp().getPort()))) {
+            failed = sender.send(messages.subList(0, 3), "noreply@brlog.test");
+            // 같은 연결로 다음 배치
+            failed.addAll(sender.send(messages.subList(3, 5), "noreply@brlog.test"));
+        }
+
+        assertThat(failed).isEmpty();
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(5);
+        assertThat(received[0].getSubject()).isEqualTo("인증번호 0");
+        assertThat(received[0].getAllRecipients()[0].toString()).isEqualTo("user0@brlog.test");
+    }
+
+    @Test
+    void returnsAllMessagesWhenServerIsDown() {
+        List<MailMessageDTO> messages = List.of(message("a@brlog.test", "a"), message("b@brlog.test", "b"));
+
+        List<MailBatchSender.Failure> failed;
+        try (MailBatchSender sender = new MailBatchSender(mailSender(greenMail.getSmtp().getPort() + 1))) {
+            failed = sender.send(messages, "noreply@brlog.test");
+        }
+
+        assertThat(failed).extracting(MailBatchSender.Failure::getMessage).containsExactlyElementsOf(messages);
+        // 연결 실패는 다시 보낼 수 있는 실패
+        assertThat(failed).noneMatch(MailBatchSender.Failure::isPermanent);
+        assertThat(failed).allSatisfy(failure -> assertThat(failure.getReason()).hasSizeLessThanOrEqualTo(200));
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    void detectsRecipientRejectionInCauseChain() {
+        MessagingException wrapped = new MessagingException("발송 실패", new SendFailedException("550 user unknown"));
+
+        assertThat(MailBatchSender.isRecipientRejected(new SendFailedException("550"))).isTrue();
+        assertThat(MailBatchSender.isRecipientRejected(wrapped)).isTrue();
+        assertThat(MailBatchSender.isRecipientRejected(new MessagingException("connection reset"))).isFalse();
+    }
+
+    private static JavaMailSenderImpl mailSender(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        return mailSender;
+    }
+
+    private static MailMessageDTO message(String to, String subject) {
+        return MailMessageDTO.builder()
+                .id(to)
+                .to(to)
+                .subject(subject)
+                .content("<p>" + subject + "</p>")
+                .build();
+    }
+}
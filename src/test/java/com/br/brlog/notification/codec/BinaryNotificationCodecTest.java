@@ -0,0 +1,158 @@
+package com.br.brlog.notification.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.br.brlog.notification.dto.NotificationDTO;
+import com.br.brlog.notification.dto.NotificationDTO.NotificationType;
+
+class BinaryNotificationCodecTest {
+
+    // [버전 1B][id 8B][플래그 1B][타입 1B]
+    private static final int HEADER_SIZE = 11;
+    // null 문자열 5개 (각 varint 0)
+    private static final int NULL_STRINGS_SIZE = 5;
+
+    private final BinaryNotificationCodec codec = new BinaryNotificationCodec();
+
+    @Test
+    void roundTripsAllFields() {
+        NotificationDTO notification = new NotificationDTO();
+        notification.setId(7_301_234_567_890_123L);
+        notification.setUserId("receiver");
+        notification.setSenderUserId("sender");
+        notification.setSenderUserNm("보낸 사람");
+        notification.setSenderProfileImgUrl("https://brlog.test/p.png");
+        notification.setType(NotificationType.REPLY);
+        notification.setContent("댓글에 답글이 달렸습니다 ✓");
+        notification.setPostId(123L);
+        notification.setCommentId(456L);
+        notification.setRead(true);
+        notification.setCreatedAt(LocalDateTime.of(2025, 3, 1, 12, 34, 56, 789_000_000));
+        notification.setSeq(99L);
+        notification.setAggregateCount(3);
+
+        NotificationDTO decoded = codec.decode(codec.encode(notification));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(notification);
+    }
+
+    @Test
+    void roundTripsMissingFieldsAsNull() {
+        NotificationDTO notification = new NotificationDTO();
+        notification.setUserId("receiver");
+
+        byte[] bytes = codec.encode(notification);
+        NotificationDTO decoded = codec.decode(bytes);
+
+        // 헤더 + userId(길이 1B + 8B) + 나머지 null 문자열 4개, 숫자 필드는 쓰지 않음
+        assertThat(bytes).hasSize(HEADER_SIZE + 1 + "receiver".length() + (NULL_STRINGS_SIZE - 1));
+        assertThat(decoded.getId()).isNull();
+        assertThat(decoded.getType()).isNull();
+        assertThat(decoded.getCreatedAt()).isNull();
+        assertThat(decoded.getPostId()).isNull();
+        assertThat(decoded.getCommentId()).isNull();
+        assertThat(decoded.getSeq()).isNull();
+        assertThat(decoded.getAggregateCount()).isNull();
+        assertThat(decoded.isRead()).isFalse();
+        assertThat(decoded.getUserId()).isEqualTo("receiver");
+        assertThat(decoded.getContent()).isNull();
+    }
+
+    @Test
+    void keepsEmptyStringDistinctFromNull() {
+        NotificationDTO notification = new NotificationDTO();
+        notification.setContent("");
+
+        assertThat(codec.decode(codec.encode(notification)).getContent()).isEmpty();
+    }
+
+    @Test
+    void truncatesCreatedAtToMilliseconds() {
+        NotificationDTO notification = new NotificationDTO();
+        notification.setCreatedAt(LocalDateTime.of(2025, 3, 1, 0, 0, 0, 123_456_789));
+
+        assertThat(codec.decode(codec.encode(notification)).getCreatedAt())
+                .isEqualTo(LocalDateTime.of(2025, 3, 1, 0, 0, 0, 123_000_000));
+    }
+
+    @Test
+    void writesZigzagVarints() {
+        // zigzag: 0 -> 0, -1 -> 1, 1 -> 2, 63 -> 126, -64 -> 127, 64 -> 128 (2바이트)
+        assertThat(postIdBytes(0L)).containsExactly(0x00);
+        assertThat(postIdBytes(-1L)).containsExactly(0x01);
+        assertThat(postIdBytes(1L)).containsExactly(0x02);
+        assertThat(postIdBytes(63L)).containsExactly(0x7E);
+        assertThat(postIdBytes(-64L)).containsExactly(0x7F);
+        assertThat(postIdBytes(64L)).containsExactly(0x80, 0x01);
+        assertThat(postIdBytes(300L)).containsExactly(0xD8, 0x04);
+        assertThat(postIdBytes(Long.MAX_VALUE)).hasSize(10);
+        assertThat(postIdBytes(Long.MIN_VALUE)).hasSize(10);
+    }
+
+    @Test
+    void roundTripsVarintExtremes() {
+        for (long value : new long[] {0L, 1L, -1L, 127L, 128L, -129L, Integer.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            NotificationDTO notification = new NotificationDTO();
+            notification.setPostId(value);
+            notification.setSeq(value);
+
+            NotificationDTO decoded = codec.decode(codec.encode(notification));
+
+            assertThat(decoded.getPostId()).isEqualTo(value);
+            assertThat(decoded.getSeq()).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void writesVersionAndIdAtFixedPositions() {
+        NotificationDTO notification = new NotificationDTO();
+        notification.setId(0x0102030405060708L);
+        notification.setContent("본문 길이와 무관하게 id 위치는 고정");
+
+        byte[] bytes = codec.encode(notification);
+
+        assertThat(bytes[0]).isEqualTo(BinaryNotificationCodec.VERSION);
+        assertThat(Arrays.copyOfRange(bytes, 1, 9)).isEqualTo(BinaryNotificationCodec.idBytes(0x0102030405060708L));
+        assertThat(BinaryNotificationCodec.idBytes(0x0102030405060708L))
+                .containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] bytes = codec.encode(new NotificationDTO());
+        bytes[0] = 2;
+
+        assertThatThrownBy(() -> codec.decode(bytes))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("2");
+    }
+
+    @Test
+    void rejectsTruncatedData() {
+        NotificationDTO notification = new NotificationDTO();
+        notification.setPostId(1L);
+        notification.setContent("잘린 본문");
+        byte[] bytes = codec.encode(notification);
+
+        assertThatThrownBy(() -> codec.decode(Arrays.copyOf(bytes, bytes.length - 3)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> codec.decode(Arrays.copyOf(bytes, 5)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * postId만 있는 알림에서 postId varint 부분만 잘라냄
+     */
+    private byte[] postIdBytes(long postId) {
+        NotificationDTO notification = new NotificationDTO();
+        notification.setPostId(postId);
+        byte[] bytes = codec.encode(notification);
+        return Arrays.copyOfRange(bytes, HEADER_SIZE, bytes.length - NULL_STRINGS_SIZE);
+    }
+}
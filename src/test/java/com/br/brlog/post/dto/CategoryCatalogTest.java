@@ -0,0 +1,40 @@
+package com.br.brlog.post.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CategoryCatalogTest {
+
+    private final CategoryCatalog catalog = new CategoryCatalog(List.of(category("java", "자바")));
+
+    @Test
+    void matchesOnlyExactEtags() {
+        String etag = catalog.getEtag();
+
+        assertThat(catalog.matches(etag)).isTrue();
+        assertThat(catalog.matches("\"other\", " + etag)).isTrue();
+        assertThat(catalog.matches("W/" + etag)).isTrue();
+        assertThat(catalog.matches("*")).isTrue();
+        // 예전 substring 비교로는 일치했던 값
+        assertThat(catalog.matches("\"abc" + etag)).isFalse();
+        assertThat(catalog.matches(etag.substring(0, etag.length() - 1) + "0\"")).isFalse();
+        assertThat(catalog.matches(null)).isFalse();
+    }
+
+    @Test
+    void returnsCopiesOfCategories() {
+        catalog.getCategories().get(0).setName("변경");
+
+        assertThat(catalog.getCategories().get(0).getName()).isEqualTo("자바");
+    }
+
+    private static CategoryDTO category(String id, String name) {
+        CategoryDTO category = new CategoryDTO();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+}
@@ -0,0 +1,101 @@
+package com.br.brlog.post.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class PostCursorTest {
+
+    @Test
+    void roundTripsRegDtCursor() {
+        PostDTO last = post(42L, true);
+        last.setRegDt("2025-03-01 12:34:56");
+
+        PostCursor cursor = PostCursor.decode(PostCursor.of("regDt", last).encode(), "regDt");
+
+        assertThat(cursor.getSortKey()).isEqualTo("regDt");
+        assertThat(cursor.isNotice()).isTrue();
+        assertThat(cursor.getSortValue()).isEqualTo("2025-03-01 12:34:56");
+        assertThat(cursor.getPostId()).isEqualTo(42L);
+    }
+
+    @Test
+    void usesCountColumnForLikesAndComments() {
+        PostDTO last = post(7L, false);
+        last.setLikeCnt(15);
+        last.setCommentCnt(3);
+
+        assertThat(PostCursor.decode(PostCursor.of("likes", last).encode()).getSortValue()).isEqualTo("15");
+        assertThat(PostCursor.decode(PostCursor.of("comments", last).encode()).getSortValue()).isEqualTo("3");
+    }
+
+    @Test
+    void roundTripsScoreCursor() {
+        PostCursor cursor = PostCursor.decode(PostCursor.ofScore(1.25, 9L).encode(), PostCursor.SCORE);
+
+        assertThat(Double.parseDouble(cursor.getSortValue())).isEqualTo(1.25);
+        assertThat(cursor.getPostId()).isEqualTo(9L);
+        assertThat(cursor.isNotice()).isFalse();
+    }
+
+    @Test
+    void encodesUrlSafeWithoutPadding() {
+        PostDTO last = post(1L, false);
+        last.setRegDt("2025-03-01 12:34:56");
+
+        assertThat(PostCursor.of("regDt", last).encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void mapsUnknownSortByToRegDt() {
+        assertThat(PostCursor.toSortKey("likes")).isEqualTo("likes");
+        assertThat(PostCursor.toSortKey("comments")).isEqualTo("comments");
+        assertThat(PostCursor.toSortKey("views")).isEqualTo("regDt");
+        assertThat(PostCursor.toSortKey(null)).isEqualTo("regDt");
+    }
+
+    @Test
+    void treatsEmptyCursorAsFirstPage() {
+        assertThat(PostCursor.decode(null, "regDt")).isNull();
+        assertThat(PostCursor.decode("", "regDt")).isNull();
+    }
+
+    @Test
+    void rejectsCursorForOtherSortKey() {
+        PostDTO last = post(3L, false);
+        last.setLikeCnt(1);
+        String encoded = PostCursor.of("likes", last).encode();
+
+        assertThatThrownBy(() -> PostCursor.decode(encoded, "regDt"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatThrownBy(() -> PostCursor.decode("not base64 !"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PostCursor.decode(raw("regDt|0|12")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PostCursor.decode(raw("likes|0|12|many")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PostCursor.decode(raw("score|0|12|high")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PostCursor.decode(raw("regDt|0|abc|2025-03-01")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static PostDTO post(Long postId, boolean notice) {
+        PostDTO post = new PostDTO();
+        post.setPostId(postId);
+        post.setNotice(notice);
+        return post;
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,116 @@
+package com.br.brlog.post.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.br.brlog.post.dao.PostDAO;
+import com.br.brlog.post.dto.PostDTO;
+
+class PostSearchIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final PostDAO postDAO = mock(PostDAO.class);
+
+    @Test
+    void findsKoreanPostBySingleCharacter() {
+        PostSearchIndex index = build(post(1L, "검색엔진 만들기", "역색인 구조"));
+
+        assertThat(postIds(index.search("검"))).containsExactly(1L);
+        assertThat(postIds(index.search("엔진을"))).isEmpty();
+        assertThat(postIds(index.search("엔진"))).containsExactly(1L);
+    }
+
+    @Test
+    void matchesLatinWordsByPrefix() {
+        PostSearchIndex index = build(post(1L, "SpringBoot 설정", "본문"), post(2L, "Java", "spring 없이"));
+
+        assertThat(postIds(index.search("Spring"))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(postIds(index.search("springboot"))).containsExactly(1L);
+    }
+
+    @Test
+    void requiresAllTermsAndBoostsTitle() {
+        PostSearchIndex index = build(
+                post(1L, "자바 입문", "레디스 캐시"),
+                post(2L, "레디스 캐시", "자바 입문"),
+                post(3L, "자바", "다른 이야기"));
+
+        List<Long> hits = postIds(index.search("레디스 자바"));
+        assertThat(hits).containsExactlyInAnyOrder(1L, 2L);
+
+        assertThat(postIds(index.search("레디스"))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void removedPostIsNoLongerFound() {
+        PostSearchIndex index = build(post(1L, "검색", "본문"));
+
+        index.remove(1L);
+
+        assertThat(index.search("검색")).isEmpty();
+    }
+
+    @Test
+    void answersOnlyQueriesWithTokens() {
+        PostSearchIndex index = build(post(1L, "검색", "본문"));
+
+        assertThat(index.canAnswer("검색")).isTrue();
+        assertThat(index.canAnswer("++")).isFalse();
+    }
+
+    @Test
+    void restoresIndexFromSnapshot() {
+        build(post(1L, "스냅샷 복원", "springboot"));
+
+        // 스냅샷 이후 변경분 없음
+        PostSearchIndex restored = build();
+
+        assertThat(postIds(restored.search("복원"))).containsExactly(1L);
+        assertThat(postIds(restored.search("spring"))).containsExactly(1L);
+    }
+
+    private PostSearchIndex build(PostDTO... posts) {
+        List<PostDTO> page = new ArrayList<>(List.of(posts));
+        when(postDAO.scanPostsForIndex(any(), isNull(), anyInt())).thenReturn(page);
+        when(postDAO.scanPostsForIndex(any(), any(Long.class), anyInt())).thenReturn(new ArrayList<>());
+
+        PostSearchIndex index = new PostSearchIndex(postDAO, mock(StringRedisTemplate.class),
+                mock(RedisMessageListenerContainer.class));
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "snapshotPath", tempDir.resolve("post-index.snapshot").toString());
+        ReflectionTestUtils.setField(index, "scanBatchSize", 100);
+        ReflectionTestUtils.setField(index, "catchUpMarginMs", 0L);
+        ReflectionTestUtils.invokeMethod(index, "build");
+        assertThat(index.isReady()).isTrue();
+        return index;
+    }
+
+    private static PostDTO post(Long postId, String title, String content) {
+        PostDTO post = new PostDTO();
+        post.setPostId(postId);
+        post.setTitle(title);
+        post.setContent(content);
+        post.setStatus("A");
+        return post;
+    }
+
+    private static List<Long> postIds(List<PostSearchIndex.Hit> hits) {
+        return hits.stream().map(PostSearchIndex.Hit::getPostId).toList();
+    }
+}
@@ -0,0 +1,39 @@
+package com.br.brlog.post.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PostTokenizerTest {
+
+    @Test
+    void indexesKoreanUnigramsAndBigrams() {
+        assertThat(PostTokenizer.tokenize("검색엔진"))
+                .containsExactly("검", "색", "엔", "진", "검색", "색엔", "엔진");
+    }
+
+    @Test
+    void queriesKoreanByBigramsOrSingleCharacter() {
+        assertThat(PostTokenizer.tokenizeQuery("검색엔진")).containsExactly("검색", "색엔", "엔진");
+        assertThat(PostTokenizer.tokenizeQuery("검")).containsExactly("검");
+    }
+
+    @Test
+    void lowercasesLatinWordsAndSplitsFromKorean() {
+        assertThat(PostTokenizer.tokenize("Spring Boot3로")).containsExactly("spring", "boot3", "로");
+        assertThat(PostTokenizer.tokenizeQuery("C++ 입문")).containsExactly("c", "입문");
+    }
+
+    @Test
+    void onlyLatinAndDigitTokensArePrefixTokens() {
+        assertThat(PostTokenizer.isPrefixToken("spring")).isTrue();
+        assertThat(PostTokenizer.isPrefixToken("2024")).isTrue();
+        assertThat(PostTokenizer.isPrefixToken("검색")).isFalse();
+    }
+
+    @Test
+    void returnsNoTokensForBlankOrSymbolOnlyText() {
+        assertThat(PostTokenizer.tokenize(null)).isEmpty();
+        assertThat(PostTokenizer.tokenizeQuery("  #!? ")).isEmpty();
+    }
+}
@@ -0,0 +1,171 @@
+package com.br.brlog.post.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.br.brlog.post.dao.PostDAO;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LikeServiceTest {
+
+    private static final String DIRTY_KEY = "post:likes:{dirty}";
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    private final PostDAO postDAO = mock(PostDAO.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private final SetOperations<String, String> sets = mock(SetOperations.class);
+    @SuppressWarnings("unchecked")
+    private final ZSetOperations<String, String> zsets = mock(ZSetOperations.class);
+
+    private LikeService likeService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(redis.opsForSet()).thenReturn(sets);
+        when(redis.opsForZSet()).thenReturn(zsets);
+        // 트랜잭션 없이 바로 실행
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        likeService = new LikeService(redis, postDAO, transactionTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(likeService, "setTtlMs", 86_400_000L);
+        ReflectionTestUtils.setField(likeService, "batchSize", 500);
+        ReflectionTestUtils.setField(likeService, "leaseMs", 60_000L);
+        ReflectionTestUtils.setField(likeService, "bulkCheckMax", 200);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void toggleMarksPostDirtyInSameScript() {
+        when(redis.execute(eq(script("TOGGLE_SCRIPT")), anyList(), any(Object[].class))).thenReturn(1L);
+
+        assertThat(likeService.addLike(7L, "user01")).isTrue();
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redis).execute(eq(script("TOGGLE_SCRIPT")), keys.capture(), any(Object[].class));
+        assertThat(keys.getValue()).containsExactly("post:likes:{7}", "post:likes:pending:{7}", DIRTY_KEY);
+        // 스크립트 밖에서 따로 표시하지 않음
+        verify(sets, never()).add(eq(DIRTY_KEY), any(String[].class));
+    }
+
+    @Test
+    void unchangedToggleReturnsFalse() {
+        when(redis.execute(eq(script("TOGGLE_SCRIPT")), anyList(), any(Object[].class))).thenReturn(0L);
+
+        assertThat(likeService.removeLike(7L, "user01")).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushWritesDrainedChangesAndReleasesLeases() {
+        when(redis.execute(eq(script("CLAIM_SCRIPT")), anyList(), any(Object[].class)))
+                .thenReturn(List.of("1", "2", "3"));
+        when(redis.execute(eq(script("DRAIN_SCRIPT")), eq(List.of("post:likes:pending:{1}", "post:likes:processing:{1}")),
+                any(Object[].class))).thenReturn(List.of("user01", "A", "user02", "R"));
+        when(redis.execute(eq(script("DRAIN_SCRIPT")), eq(List.of("post:likes:pending:{2}", "post:likes:processing:{2}")),
+                any(Object[].class))).thenReturn(List.of("user03", "A"));
+        // 3번은 반영할 변경분 없음
+        when(redis.execute(eq(script("DRAIN_SCRIPT")), eq(List.of("post:likes:pending:{3}", "post:likes:processing:{3}")),
+                any(Object[].class))).thenReturn(List.of());
+
+        likeService.flush();
+
+        ArgumentCaptor<List<Map<String, Object>>> adds = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Map<String, Object>>> removes = ArgumentCaptor.forClass(List.class);
+        verify(postDAO).insertLikes(adds.capture());
+        verify(postDAO).deleteLikes(removes.capture());
+        verify(postDAO).syncLikeCounts(List.of(1L, 2L));
+        assertThat(adds.getValue()).containsExactlyInAnyOrder(
+                Map.of("postId", 1L, "userId", "user01"), Map.of("postId", 2L, "userId", "user03"));
+        assertThat(removes.getValue()).containsExactly(Map.of("postId", 1L, "userId", "user02"));
+
+        verify(redis).delete(List.of("post:likes:processing:{1}", "post:likes:processing:{2}"));
+        verify(zsets).remove("post:likes:{dirty}:leases", "1", "2", "3");
+    }
+
+    @Test
+    void failedFlushKeepsProcessingAndRequeuesPosts() {
+        when(redis.execute(eq(script("CLAIM_SCRIPT")), anyList(), any(Object[].class))).thenReturn(List.of("5"));
+        when(redis.execute(eq(script("DRAIN_SCRIPT")), anyList(), any(Object[].class)))
+                .thenReturn(List.of("user01", "A"));
+        doThrow(new IllegalStateException("db down")).when(postDAO).insertLikes(anyList());
+
+        likeService.flush();
+
+        // processing 해시는 지우지 않고 다음 주기에 다시 반영
+        verify(redis, never()).delete(anyList());
+        verify(sets).add(DIRTY_KEY, "5");
+        verify(zsets).remove("post:likes:{dirty}:leases", "5");
+    }
+
+    @Test
+    void flushDoesNothingWithoutClaimedPosts() {
+        when(redis.execute(eq(script("CLAIM_SCRIPT")), anyList(), any(Object[].class))).thenReturn(List.of());
+
+        likeService.flush();
+
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    void recoverRequeuesPendingAndProcessingPosts() {
+        when(redis.scan(any(ScanOptions.class))).thenAnswer(invocation -> {
+            String pattern = ((ScanOptions) invocation.getArgument(0)).getPattern();
+            return pattern.startsWith("post:likes:pending:")
+                    ? cursor("post:likes:pending:{11}", "post:likes:pending:{12}")
+                    : cursor("post:likes:processing:{13}");
+        });
+
+        likeService.recover();
+
+        verify(sets).add(DIRTY_KEY, "11", "12");
+        verify(sets).add(DIRTY_KEY, "13");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> RedisScript<T> script(String name) {
+        return (RedisScript<T>) ReflectionTestUtils.getField(LikeService.class, name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<String> cursor(String... keys) {
+        Iterator<String> iterator = new ArrayList<>(List.of(keys)).iterator();
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        return cursor;
+    }
+}
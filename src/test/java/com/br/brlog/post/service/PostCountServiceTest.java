@@ -0,0 +1,143 @@
+package com.br.brlog.post.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.br.brlog.post.dao.PostDAO;
+import com.br.brlog.post.dto.PostDTO;
+
+class PostCountServiceTest {
+
+    private final PostDAO postDAO = mock(PostDAO.class);
+
+    private PostCountService postCountService;
+
+    @BeforeEach
+    void setUp() {
+        postCountService = new PostCountService(postDAO, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void replacesCountsWithDatabaseTotals() {
+        when(postDAO.countActivePostsByCategory())
+                .thenReturn(rows("c1", 3))
+                .thenReturn(rows("c2", 1));
+        postCountService.reconcile();
+        postCountService.increment("c1", 100L);
+        assertThat(postCountService.getActiveCount("c1")).isEqualTo(4);
+
+        postCountService.reconcile();
+
+        assertThat(postCountService.getActiveCount("c1")).isZero();
+        assertThat(postCountService.getActiveCount("c2")).isEqualTo(1);
+        assertThat(postCountService.getActiveCount(null)).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotDoubleCountIncrementAlreadyInSnapshot() {
+        // 집계 쿼리 중에 커밋 후 콜백이 도착했지만 게시글은 이미 스냅샷에 포함
+        when(postDAO.countActivePostsByCategory())
+                .thenReturn(rows())
+                .thenAnswer(invocation -> {
+                    postCountService.increment("c1", 10L);
+                    return rows("c1", 1);
+                });
+        when(postDAO.getPostStates(anyList())).thenReturn(List.of(state(10L, "c1", "A")));
+        postCountService.reconcile();
+
+        postCountService.reconcile();
+
+        assertThat(postCountService.getActiveCount("c1")).isEqualTo(1);
+        assertThat(postCountService.getActiveCount(null)).isEqualTo(1);
+    }
+
+    @Test
+    void keepsIncrementMissingFromSnapshot() {
+        when(postDAO.countActivePostsByCategory())
+                .thenReturn(rows())
+                .thenAnswer(invocation -> {
+                    postCountService.increment("c1", 10L);
+                    return rows();
+                });
+        when(postDAO.getPostStates(anyList())).thenReturn(new ArrayList<>());
+        postCountService.reconcile();
+
+        postCountService.reconcile();
+
+        assertThat(postCountService.getActiveCount("c1")).isEqualTo(1);
+    }
+
+    @Test
+    void appliesDeleteOnlyOnce() {
+        when(postDAO.countActivePostsByCategory())
+                .thenReturn(rows("c1", 2))
+                .thenAnswer(invocation -> {
+                    postCountService.decrement("c1", 5L);
+                    return rows("c1", 1);
+                })
+                .thenAnswer(invocation -> {
+                    postCountService.decrement("c1", 6L);
+                    return rows("c1", 1);
+                });
+        when(postDAO.getPostStates(anyList()))
+                .thenReturn(List.of(state(5L, "c1", "D")))
+                .thenReturn(List.of(state(6L, "c1", "A")));
+        postCountService.reconcile();
+
+        // 스냅샷에 삭제가 반영된 경우
+        postCountService.reconcile();
+        assertThat(postCountService.getActiveCount("c1")).isEqualTo(1);
+
+        // 스냅샷에 삭제가 반영되지 않은 경우
+        postCountService.reconcile();
+        assertThat(postCountService.getActiveCount("c1")).isZero();
+    }
+
+    @Test
+    void appliesMoveMissingFromSnapshot() {
+        when(postDAO.countActivePostsByCategory())
+                .thenReturn(rows("c1", 1))
+                .thenAnswer(invocation -> {
+                    postCountService.move("c1", "c2", 5L);
+                    return rows("c1", 1);
+                });
+        when(postDAO.getPostStates(anyList())).thenReturn(List.of(state(5L, "c1", "A")));
+        postCountService.reconcile();
+
+        postCountService.reconcile();
+
+        assertThat(postCountService.getActiveCount("c1")).isZero();
+        assertThat(postCountService.getActiveCount("c2")).isEqualTo(1);
+        assertThat(postCountService.getActiveCount(null)).isEqualTo(1);
+    }
+
+    private static List<Map<String, Object>> rows(Object... categoryCounts) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < categoryCounts.length; i += 2) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("categoryId", categoryCounts[i]);
+            row.put("cnt", ((Integer) categoryCounts[i + 1]).longValue());
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static PostDTO state(Long postId, String categoryId, String status) {
+        PostDTO post = new PostDTO();
+        post.setPostId(postId);
+        post.setCategoryId(categoryId);
+        post.setStatus(status);
+        return post;
+    }
+}
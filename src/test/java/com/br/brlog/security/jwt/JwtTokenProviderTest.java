@@ -0,0 +1,127 @@
+package com.br.brlog.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtTokenProviderTest {
+
+    private static final String USER = "tester01";
+
+    // Redis 해시 auth:token:version 대신
+    private final Map<Object, Long> versions = new ConcurrentHashMap<>();
+
+    private TokenStateCache tokenStateCache;
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        HashOperations<String, Object, Object> hash = mock(HashOperations.class);
+        when(redis.opsForHash()).thenReturn(hash);
+        when(hash.get(eq("auth:token:version"), any())).thenAnswer(invocation -> {
+            Long version = versions.get(invocation.getArgument(1));
+            return version != null ? String.valueOf(version) : null;
+        });
+        when(hash.increment(eq("auth:token:version"), any(), anyLong())).thenAnswer(invocation ->
+                versions.merge(invocation.getArgument(1), (Long) invocation.getArgument(2), Long::sum));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        tokenStateCache = new TokenStateCache(null, redis, new RedisMessageListenerContainer(), meterRegistry);
+        ReflectionTestUtils.setField(tokenStateCache, "nearCacheTtlMs", 30_000L);
+        ReflectionTestUtils.setField(tokenStateCache, "nearCacheMaxSize", 1_000L);
+        tokenStateCache.init();
+
+        tokenProvider = new JwtTokenProvider(meterRegistry, tokenStateCache);
+        ReflectionTestUtils.setField(tokenProvider, "secretKey", Base64.getEncoder().encodeToString(new byte[64]));
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 3_600_000L);
+        ReflectionTestUtils.setField(tokenProvider, "claimsCacheMaxSize", 1_000L);
+        tokenProvider.init();
+    }
+
+    @Test
+    void acceptsTokenOfCurrentVersion() {
+        String token = createToken();
+
+        JwtTokenProvider.VerifiedToken verified = tokenProvider.authenticate(token);
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.getUserId()).isEqualTo(USER);
+        assertThat(verified.getVersion()).isZero();
+        assertThat(tokenProvider.validateToken(token)).isTrue();
+    }
+
+    @Test
+    void revokeAllRejectsEarlierTokensButNotNewOnes() {
+        String before = createToken();
+
+        tokenStateCache.revokeAll(USER);
+        String after = createToken();
+
+        // JwtFilter를 거치지 않는 validateToken에서도 폐기 확인
+        assertThat(tokenProvider.validateToken(before)).isFalse();
+        assertThat(tokenProvider.authenticate(before)).isNull();
+        assertThat(tokenProvider.validateToken(after)).isTrue();
+        assertThat(tokenProvider.authenticate(after).getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void appliesRevocationPublishedByAnotherNode() {
+        String token = createToken();
+        assertThat(tokenProvider.validateToken(token)).isTrue();
+
+        // 다른 노드의 로그아웃 (로컬 캐시에는 버전 0이 남아 있는 상태)
+        versions.put(USER, 3L);
+        ReflectionTestUtils.invokeMethod(tokenStateCache, "onMessage",
+                new DefaultMessage("auth:token:invalidate".getBytes(StandardCharsets.UTF_8),
+                        ("ver:3:" + USER).getBytes(StandardCharsets.UTF_8)),
+                (byte[]) null);
+
+        assertThat(tokenProvider.validateToken(token)).isFalse();
+    }
+
+    @Test
+    void ignoresLateMessageWithLowerVersion() {
+        tokenStateCache.revokeAll(USER);
+        tokenStateCache.revokeAll(USER);
+        String token = createToken();
+
+        ReflectionTestUtils.invokeMethod(tokenStateCache, "onMessage",
+                new DefaultMessage("auth:token:invalidate".getBytes(StandardCharsets.UTF_8),
+                        ("ver:1:" + USER).getBytes(StandardCharsets.UTF_8)),
+                (byte[]) null);
+
+        assertThat(tokenProvider.validateToken(token)).isTrue();
+    }
+
+    @Test
+    void rejectsMalformedToken() {
+        assertThat(tokenProvider.validateToken("not-a-jwt")).isFalse();
+        assertThat(tokenProvider.authenticate(null)).isNull();
+    }
+
+    private String createToken() {
+        return tokenProvider.createToken(USER, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
@@ -0,0 +1,148 @@
+package com.br.brlog.security.password;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void verifiesEncodedPassword() {
+        hasher = hasher(new BCryptPasswordEncoder(4), 2, 4, 3000);
+
+        String encoded = hasher.encode("secret");
+
+        assertThat(encoded).startsWith("$2");
+        assertThat(hasher.verify("secret", encoded).isMatched()).isTrue();
+        assertThat(hasher.verify("secret", encoded).getUpgradedHash()).isNull();
+        assertThat(hasher.verify("wrong", encoded).isMatched()).isFalse();
+    }
+
+    @Test
+    void upgradesPlainTextAndLowCostHashes() {
+        hasher = hasher(new BCryptPasswordEncoder(5), 2, 4, 3000);
+
+        PasswordHasher.Verification plain = hasher.verify("secret", "secret");
+        assertThat(plain.isMatched()).isTrue();
+        assertThat(plain.getUpgradedHash()).startsWith("$2a$05$");
+
+        PasswordHasher.Verification lowCost = hasher.verify("secret", new BCryptPasswordEncoder(4).encode("secret"));
+        assertThat(lowCost.isMatched()).isTrue();
+        assertThat(lowCost.getUpgradedHash()).startsWith("$2a$05$");
+
+        assertThat(hasher.verify("wrong", "secret").isMatched()).isFalse();
+    }
+
+    @Test
+    void rejectsImmediatelyWhenQueueIsFull() throws Exception {
+        BlockingEncoder encoder = new BlockingEncoder();
+        hasher = hasher(encoder, 1, 1, 5000);
+
+        // 스레드 1개를 붙잡고 큐 1칸을 채운다
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        assertThat(encoder.started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+        awaitQueueSize(1);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> hasher.encode("c")).isInstanceOf(PasswordHashingOverloadException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+        assertThat(meterRegistry.counter("security.password.rejected").count()).isEqualTo(1.0);
+
+        encoder.release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:b");
+    }
+
+    @Test
+    void timesOutAndFreesQueueSlot() throws Exception {
+        BlockingEncoder encoder = new BlockingEncoder();
+        hasher = hasher(encoder, 1, 1, 200);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        assertThat(encoder.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> hasher.encode("b")).isInstanceOf(PasswordHashingOverloadException.class);
+        assertThat(executor().getQueue()).isEmpty();
+
+        // 붙잡힌 작업의 호출 측도 대기 시간이 지나 포기한다
+        assertThatThrownBy(() -> running.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(PasswordHashingOverloadException.class);
+
+        // 큐에서 빠진 작업은 해시하지 않는다
+        encoder.release.countDown();
+        executor().shutdown();
+        assertThat(executor().awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(encoder.encoded).isEqualTo(1);
+    }
+
+    private PasswordHasher hasher(PasswordEncoder encoder, int threads, int queueCapacity, long timeoutMs) {
+        PasswordHasher created = new PasswordHasher(encoder, meterRegistry);
+        ReflectionTestUtils.setField(created, "threads", threads);
+        ReflectionTestUtils.setField(created, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(created, "timeoutMs", timeoutMs);
+        created.init();
+        return created;
+    }
+
+    private ThreadPoolExecutor executor() {
+        return (ThreadPoolExecutor) ReflectionTestUtils.getField(hasher, "executor");
+    }
+
+    private void awaitQueueSize(int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (executor().getQueue().size() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(executor().getQueue()).hasSize(size);
+    }
+
+    /**
+     * release 전까지 encode를 붙잡는 인코더
+     */
+    private static class BlockingEncoder implements PasswordEncoder {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile int encoded;
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            encoded++;
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    }
+}